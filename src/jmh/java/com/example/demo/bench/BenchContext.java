@@ -0,0 +1,28 @@
+package com.example.demo.bench;
+
+import com.example.demo.DemoApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/** Boots the full application against an in-memory H2 database for benchmarks. */
+public final class BenchContext {
+    private BenchContext() {}
+
+    public static ConfigurableApplicationContext start(String... extraProperties) {
+        String[] base = {
+            "spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DB_CLOSE_DELAY=-1",
+            "spring.datasource.driver-class-name=org.h2.Driver",
+            "spring.datasource.username=sa",
+            "spring.datasource.password=",
+            "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+            "spring.jpa.hibernate.ddl-auto=create-drop",
+            "server.port=0",
+            "management.server.port=0",
+            "logging.level.root=WARN"
+        };
+        String[] args = new String[base.length + extraProperties.length];
+        for (int i = 0; i < base.length; i++) args[i] = "--" + base[i];
+        for (int i = 0; i < extraProperties.length; i++) args[base.length + i] = "--" + extraProperties[i];
+        return new SpringApplicationBuilder(DemoApplication.class).run(args);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.demo.bench;
+
+import com.example.demo.config.JwtFilter;
+import com.example.demo.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1) @Measurement(iterations = 5, time = 1) @Fork(1)
+public class JwtBenchmark {
+    private JwtUtil jwtUtil;
+    private JwtFilter filter;
+    private String token;
+    private final FilterChain chain = (req, res) -> {};
+
+    @Setup public void setup() {
+        jwtUtil = new JwtUtil();
+        filter = new JwtFilter(jwtUtil, new SimpleMeterRegistry());
+        token = jwtUtil.generateToken("bench@example.com", 1L, Set.of("USER", "ADMIN"));
+    }
+
+    @Benchmark public String generateToken() { return jwtUtil.generateToken("bench@example.com", 1L, Set.of("USER")); }
+    @Benchmark public boolean validateToken() { return jwtUtil.validateToken(token); }
+    @Benchmark public Claims getClaims() { return jwtUtil.getClaims(token); }
+
+    @Benchmark public Object filterAuthenticated() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/assets");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        Object auth = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return auth;
+    }
+}
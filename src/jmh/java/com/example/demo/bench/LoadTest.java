@@ -0,0 +1,161 @@
+package com.example.demo.bench;
+
+import com.example.demo.util.JwtUtil;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Drives the real controllers over HTTP from concurrent workers and reports throughput and latency
+ * percentiles per endpoint. Either boots the app on H2 with synthetic data or targets {@code -Dload.baseUrl}.
+ *
+ * <pre>mvn -Pbench compile exec:exec@load-test -Dload.args="-Dload.assets=200000 -Dload.threads=32 -Dload.seconds=60"</pre>
+ */
+public final class LoadTest {
+    record Endpoint(String name, int weight, Function<ThreadLocalRandom, HttpRequest.Builder> request) {}
+
+    static final class Recorder {
+        long[] samples = new long[1024]; int size; long errors;
+        void record(long nanos, boolean ok) {
+            if (!ok) errors++;
+            if (size == samples.length) samples = Arrays.copyOf(samples, size * 2);
+            samples[size++] = nanos;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = Integer.getInteger("load.threads", 16);
+        int seconds = Integer.getInteger("load.seconds", 30);
+        int assets = Integer.getInteger("load.assets", 50_000);
+        String baseUrl = System.getProperty("load.baseUrl");
+        String token = System.getProperty("load.token");
+        ConfigurableApplicationContext ctx = null;
+        if (baseUrl == null) {
+            ctx = BenchContext.start("app.seed.synthetic.enabled=true", "app.seed.synthetic.assets=" + assets,
+                    "app.events.async.enabled=true", "app.events.async.spill-dir=target/load-events",
+                    "app.threads.mode=" + System.getProperty("load.threadMode", "platform"));
+            baseUrl = "http://localhost:" + ((WebServerApplicationContext) ctx).getWebServer().getPort();
+            token = ctx.getBean(JwtUtil.class).generateToken("load@example.com", 1L, Set.of("USER", "ADMIN"));
+        }
+        long maxAssetId = assets + 1;
+        String base = baseUrl, auth = "Bearer " + token;
+        List<Endpoint> endpoints = List.of(
+            new Endpoint("GET /api/assets?limit=100", 20, r -> get(base + "/api/assets?limit=100&afterId=" + r.nextLong(maxAssetId))),
+            new Endpoint("GET /api/assets/{id}", 25, r -> get(base + "/api/assets/" + (1 + r.nextLong(maxAssetId)))),
+            new Endpoint("GET /api/assets/status/ACTIVE?limit=100", 10, r -> get(base + "/api/assets/status/ACTIVE?limit=100&afterId=" + r.nextLong(maxAssetId))),
+            new Endpoint("GET /api/events/asset/{id}", 15, r -> get(base + "/api/events/asset/" + (1 + r.nextLong(maxAssetId)))),
+            new Endpoint("GET /api/vendors", 5, r -> get(base + "/api/vendors")),
+            new Endpoint("GET /api/rules", 5, r -> get(base + "/api/rules")),
+            new Endpoint("GET /api/assets/stats", 5, r -> get(base + "/api/assets/stats")),
+            new Endpoint("GET /api/depreciation/asset/{id}", 5, r -> get(base + "/api/depreciation/asset/" + (1 + r.nextLong(maxAssetId)))),
+            new Endpoint("POST /api/events/{id}", 5, r -> post(base + "/api/events/" + (1 + r.nextLong(maxAssetId)),
+                    "{\"eventType\":\"AUDIT\",\"eventDescription\":\"load test\",\"eventDate\":\"" + LocalDate.now() + "\"}")),
+            new Endpoint("POST /api/assets/{vendorId}/{ruleId}", 5, r -> post(base + "/api/assets/1/1",
+                    "{\"assetTag\":\"LOAD-" + System.nanoTime() + "-" + r.nextInt() + "\",\"assetName\":\"load\",\"purchaseCost\":100}"))
+        );
+        int[] cumulative = new int[endpoints.size()];
+        for (int i = 0, sum = 0; i < endpoints.size(); i++) cumulative[i] = sum += endpoints.get(i).weight();
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).executor(Executors.newFixedThreadPool(4)).build();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        AtomicLong total = new AtomicLong();
+        List<Future<Recorder[]>> futures = new ArrayList<>();
+        long started = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            futures.add(pool.submit(() -> {
+                Recorder[] recorders = new Recorder[endpoints.size()];
+                for (int i = 0; i < recorders.length; i++) recorders[i] = new Recorder();
+                ThreadLocalRandom r = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    int pick = r.nextInt(cumulative[cumulative.length - 1]), e = 0;
+                    while (cumulative[e] <= pick) e++;
+                    HttpRequest request = endpoints.get(e).request().apply(r).header("Authorization", auth).timeout(Duration.ofSeconds(30)).build();
+                    long t0 = System.nanoTime();
+                    boolean ok;
+                    try { ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400; }
+                    catch (IOException ex) { ok = false; }
+                    recorders[e].record(System.nanoTime() - t0, ok);
+                    total.incrementAndGet();
+                }
+                return recorders;
+            }));
+        }
+        Recorder[] merged = new Recorder[endpoints.size()];
+        for (int i = 0; i < merged.length; i++) merged[i] = new Recorder();
+        for (Future<Recorder[]> f : futures) {
+            Recorder[] part = f.get();
+            for (int i = 0; i < part.length; i++) {
+                for (int s = 0; s < part[i].size; s++) merged[i].record(part[i].samples[s], true);
+                merged[i].errors += part[i].errors;
+            }
+        }
+        double elapsed = (System.nanoTime() - started) / 1e9;
+        pool.shutdown();
+        report(endpoints, merged, elapsed, threads, total.get());
+        if (ctx != null) ctx.close();
+        System.exit(0);
+    }
+
+    private static HttpRequest.Builder get(String url) { return HttpRequest.newBuilder(URI.create(url)).GET(); }
+
+    private static HttpRequest.Builder post(String url, String json) {
+        return HttpRequest.newBuilder(URI.create(url)).header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    /** Nearest-rank percentile of sorted nanosecond samples, in milliseconds. */
+    private static double percentile(long[] sorted, double q) {
+        if (sorted.length == 0) return 0.0;
+        int rank = (int) Math.ceil(q * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank))] / 1e6;
+    }
+
+    private static void report(List<Endpoint> endpoints, Recorder[] recorders, double elapsed, int threads, long total) throws IOException {
+        System.out.printf(Locale.ROOT, "%n%-42s %9s %9s %8s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        StringBuilder json = new StringBuilder("{\"threads\":").append(threads).append(",\"seconds\":").append(String.format(Locale.ROOT, "%.2f", elapsed))
+                .append(",\"throughput\":").append(String.format(Locale.ROOT, "%.1f", total / elapsed)).append(",\"endpoints\":[");
+        for (int i = 0; i < endpoints.size(); i++) {
+            Recorder r = recorders[i];
+            long[] sorted = Arrays.copyOf(r.samples, r.size);
+            Arrays.sort(sorted);
+            Map<String, Double> p = new LinkedHashMap<>();
+            p.put("p50", percentile(sorted, 0.50)); p.put("p90", percentile(sorted, 0.90)); p.put("p99", percentile(sorted, 0.99));
+            p.put("p99.9", percentile(sorted, 0.999)); p.put("max", percentile(sorted, 1.0));
+            System.out.printf(Locale.ROOT, "%-42s %9d %9.1f %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n", endpoints.get(i).name(), r.size, r.size / elapsed, r.errors,
+                    p.get("p50"), p.get("p90"), p.get("p99"), p.get("p99.9"), p.get("max"));
+            if (i > 0) json.append(',');
+            json.append("{\"name\":\"").append(endpoints.get(i).name()).append("\",\"requests\":").append(r.size).append(",\"errors\":").append(r.errors)
+                .append(",\"throughput\":").append(String.format(Locale.ROOT, "%.1f", r.size / elapsed));
+            p.forEach((k, v) -> json.append(",\"").append(k).append("Ms\":").append(String.format(Locale.ROOT, "%.3f", v)));
+            json.append('}');
+        }
+        json.append("]}");
+        Path out = Path.of("target", "load-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        Files.createDirectories(out.getParent());
+        Files.writeString(out, json);
+        System.out.printf(Locale.ROOT, "%ntotal %d requests in %.1f s (%.1f req/s); results written to %s%n", total, elapsed, total / elapsed, out);
+    }
+}
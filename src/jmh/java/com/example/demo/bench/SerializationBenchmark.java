@@ -0,0 +1,38 @@
+package com.example.demo.bench;
+
+import com.example.demo.entity.Asset;
+import com.example.demo.entity.DepreciationRule;
+import com.example.demo.entity.Vendor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1) @Measurement(iterations = 5, time = 1) @Fork(1)
+public class SerializationBenchmark {
+    @Param({"100", "10000"}) public int size;
+    private ObjectMapper mapper;
+    private List<Asset> assets;
+
+    @Setup public void setup() {
+        mapper = JsonMapper.builder().findAndAddModules().disable(SerializationFeature.FAIL_ON_EMPTY_BEANS).build();
+        Vendor vendor = new Vendor(); vendor.setId(1L); vendor.setVendorName("BenchVendor"); vendor.setContactEmail("v@example.com");
+        DepreciationRule rule = new DepreciationRule(); rule.setId(1L); rule.setRuleName("BenchRule"); rule.setMethod("STRAIGHT_LINE");
+        rule.setUsefulLifeYears(5); rule.setSalvageValue(0.0);
+        assets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Asset a = new Asset();
+            a.setId((long) i); a.setAssetTag("BENCH-" + i); a.setAssetName("Asset " + i); a.setVendor(vendor); a.setDepreciationRule(rule);
+            a.setPurchaseCost(100.0 + i); a.setPurchaseDate(LocalDate.of(2020, 1, 1).plusDays(i % 1500));
+            assets.add(a);
+        }
+    }
+
+    @Benchmark public byte[] serializeAssetList() throws Exception { return mapper.writeValueAsBytes(assets); }
+}
@@ -0,0 +1,66 @@
+package com.example.demo.bench;
+
+import com.example.demo.dto.AssetImportRow;
+import com.example.demo.entity.Asset;
+import com.example.demo.service.AssetImportService;
+import com.example.demo.service.AssetService;
+import com.example.demo.service.DepreciationService;
+import com.example.demo.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Service methods running against the real Spring context on in-memory H2. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime) @OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2) @Measurement(iterations = 5, time = 2) @Fork(1)
+public class ServiceBenchmark {
+    static final int SEED_ASSETS = 5000;
+    private ConfigurableApplicationContext ctx;
+    private AssetService assetService;
+    private UserService userService;
+    private DepreciationService depreciationService;
+    private final BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial) public void setup() {
+        ctx = BenchContext.start();
+        assetService = ctx.getBean(AssetService.class);
+        userService = ctx.getBean(UserService.class);
+        depreciationService = ctx.getBean(DepreciationService.class);
+        List<AssetImportRow> rows = new ArrayList<>(SEED_ASSETS);
+        for (int i = 0; i < SEED_ASSETS; i++) {
+            AssetImportRow row = new AssetImportRow();
+            row.setAssetTag("SEED-" + i); row.setAssetName("Seed " + i); row.setVendorId(1L); row.setRuleId(1L);
+            row.setPurchaseCost(100.0 + i); row.setPurchaseDate(LocalDate.of(2020, 1, 1).plusDays(i % 1500));
+            rows.add(row);
+        }
+        ctx.getBean(AssetImportService.class).importAssets(rows);
+    }
+
+    @TearDown(Level.Trial) public void tearDown() { ctx.close(); }
+
+    @Benchmark public String bcryptEncode() { return bcrypt.encode("benchmark-password"); }
+
+    @Benchmark public Object registerUser() {
+        return userService.registerUser(Map.of("name", "Bench", "email", "bench" + sequence.incrementAndGet() + "@example.com", "password", "pw"));
+    }
+
+    @Benchmark public Object createAsset() {
+        Asset asset = new Asset();
+        asset.setAssetTag("BENCH-" + sequence.incrementAndGet()); asset.setAssetName("Bench"); asset.setPurchaseCost(500.0);
+        return assetService.createAsset(1L, 1L, asset);
+    }
+
+    @Benchmark public Object getAsset() { return assetService.getAsset(1L); }
+    @Benchmark public Object getAssetPage() { return assetService.getAssetPage(null, 0L, 100); }
+    @Benchmark public Object getAssetSummaries() { return assetService.getAssetSummaries("ACTIVE", 0L, 100); }
+    @Benchmark @BenchmarkMode(Mode.SingleShotTime) @Warmup(iterations = 2) @Measurement(iterations = 5) @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object valuePortfolio() { return depreciationService.valuePortfolio(LocalDate.now()); }
+}
@@ -0,0 +1,61 @@
+package com.example.demo.bench;
+
+import com.example.demo.config.ThreadingConfig;
+import com.example.demo.util.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Platform vs virtual request threads under many concurrent HTTP clients hitting the real controllers. Tomcat's
+ * pool is kept small so the platform run saturates the way production does. The virtual run needs Java 21+.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput) @OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5) @Measurement(iterations = 3, time = 10) @Fork(1) @Threads(128)
+public class ThreadModeBenchmark {
+    static final int SEED_ASSETS = 5000;
+
+    @Param({ "platform", "virtual" }) public String mode;
+    @Param({ "32" }) public int tomcatThreads;
+
+    private ConfigurableApplicationContext ctx;
+    private HttpClient client;
+    private String base, auth;
+
+    @Setup(Level.Trial) public void setup() {
+        if ("virtual".equals(mode) && !ThreadingConfig.virtualThreadsSupported())
+            System.err.println("WARNING: Java " + Runtime.version().feature() + " has no virtual threads; the 'virtual' run uses platform threads");
+        ctx = BenchContext.start("app.threads.mode=" + mode, "server.tomcat.threads.max=" + tomcatThreads,
+                "app.seed.synthetic.enabled=true", "app.seed.synthetic.assets=" + SEED_ASSETS);
+        base = "http://localhost:" + ((WebServerApplicationContext) ctx).getWebServer().getPort();
+        auth = "Bearer " + ctx.getBean(JwtUtil.class).generateToken("bench@example.com", 1L, Set.of("USER", "ADMIN"));
+        client = HttpClient.newHttpClient();
+    }
+
+    @TearDown(Level.Trial) public void tearDown() { ctx.close(); }
+
+    @Benchmark public int getAsset() throws Exception { return send(get("/api/assets/" + randomId())); }
+    @Benchmark public int getAssetPage() throws Exception { return send(get("/api/assets?limit=100&afterId=" + randomId())); }
+    @Benchmark public int getEvents() throws Exception { return send(get("/api/events/asset/" + randomId())); }
+
+    @Benchmark public int logEvent() throws Exception {
+        return send(HttpRequest.newBuilder(URI.create(base + "/api/events/" + randomId())).header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"eventType\":\"AUDIT\",\"eventDescription\":\"bench\",\"eventDate\":\"" + LocalDate.now() + "\"}")));
+    }
+
+    private static long randomId() { return 1 + ThreadLocalRandom.current().nextLong(SEED_ASSETS); }
+    private HttpRequest.Builder get(String path) { return HttpRequest.newBuilder(URI.create(base + path)).GET(); }
+
+    private int send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.header("Authorization", auth).build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.demo.config;
+
+import com.example.demo.dto.ExportReport;
+import com.example.demo.service.AssetExportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Command-line export for the monthly close: start the application with {@code --app.export.dir=/path} (and
+ * optionally {@code --app.export.format=COLUMNAR}, {@code --app.export.ids-per-chunk=N}) and it writes the register
+ * as chunk files into that directory, then exits. Re-running into the same directory skips finished chunks. Runs once
+ * the application is ready, i.e. after the seeding runners.
+ */
+@Component
+@ConditionalOnProperty(name = "app.export.dir")
+public class AssetExportRunner {
+    private static final Logger log = LoggerFactory.getLogger(AssetExportRunner.class);
+
+    private final AssetExportService exports;
+    private final ApplicationContext context;
+    private final Path dir;
+    private final ExportReport.Format format;
+    private final long idsPerChunk;
+    private final boolean exit;
+
+    public AssetExportRunner(AssetExportService exports, ApplicationContext context,
+                             @Value("${app.export.dir}") String dir,
+                             @Value("${app.export.format:CSV}") ExportReport.Format format,
+                             @Value("${app.export.ids-per-chunk:1000000}") long idsPerChunk,
+                             @Value("${app.export.exit:true}") boolean exit) {
+        this.exports = exports; this.context = context; this.dir = Path.of(dir); this.format = format; this.idsPerChunk = idsPerChunk; this.exit = exit;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void run() {
+        long started = System.currentTimeMillis();
+        int code = 0;
+        try {
+            List<ExportReport> reports = exports.exportToDirectory(format, dir, idsPerChunk);
+            log.info("Exported {} rows in {} new chunk files to {} in {} ms", reports.stream().mapToLong(ExportReport::getRows).sum(), reports.size(), dir,
+                    System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("Asset export to {} failed; re-run to resume", dir, e);
+            code = 1;
+        }
+        if (exit) {
+            int status = code;
+            System.exit(SpringApplication.exit(context, () -> status));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.demo.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps how many callers may hold a connection at once. Waiters queue fairly on a semaphore in front of the
+ * pool, so thousands of virtual threads park cheaply here instead of spinning on the pool's own timeout.
+ */
+public class BoundedDataSource extends DelegatingDataSource implements AutoCloseable {
+    private final Semaphore permits;
+    private final long timeoutMs;
+
+    public BoundedDataSource(DataSource target, int maxConcurrent, long timeoutMs) {
+        super(target);
+        this.permits = new Semaphore(Math.max(1, maxConcurrent), true);
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try { return releasing(obtainTargetDataSource().getConnection()); }
+        catch (SQLException | RuntimeException e) { permits.release(); throw e; }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try { return releasing(obtainTargetDataSource().getConnection(username, password)); }
+        catch (SQLException | RuntimeException e) { permits.release(); throw e; }
+    }
+
+    public int getAvailablePermits() { return permits.availablePermits(); }
+    public int getQueueLength() { return permits.getQueueLength(); }
+
+    @Override public void close() throws Exception { if (obtainTargetDataSource() instanceof AutoCloseable target) target.close(); }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS))
+                throw new SQLTransientConnectionException("No database permit available within " + timeoutMs + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database permit", e);
+        }
+    }
+
+    /** The permit goes back exactly once, when the caller closes the connection. */
+    private Connection releasing(Connection target) {
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals": return proxy == args[0];
+                case "hashCode": return System.identityHashCode(proxy);
+                case "unwrap": if (((Class<?>) args[0]).isInstance(proxy)) return proxy; break;
+                case "isWrapperFor": if (((Class<?>) args[0]).isInstance(proxy)) return true; break;
+                case "close":
+                    try { target.close(); } finally { if (closed.compareAndSet(false, true)) permits.release(); }
+                    return null;
+                default: break;
+            }
+            try { return method.invoke(target, args); }
+            catch (InvocationTargetException e) { throw e.getTargetException(); }
+        });
+    }
+}
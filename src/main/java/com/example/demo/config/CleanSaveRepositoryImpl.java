@@ -1,25 +1,84 @@
 package com.example.demo.config;
 
+import com.example.demo.util.VersionStamps;
 import jakarta.persistence.EntityManager;
-import org.springframework.beans.BeanUtils;
 import org.springframework.data.jpa.repository.support.JpaEntityInformation;
 import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
 
 public class CleanSaveRepositoryImpl<T, ID extends Serializable> extends SimpleJpaRepository<T, ID> {
+    private final JpaEntityInformation<T, ?> entityInformation;
     public CleanSaveRepositoryImpl(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
         super(entityInformation, entityManager);
+        this.entityInformation = entityInformation;
     }
     @Override
     public <S extends T> S save(S entity) {
-        if (entity.getClass().isAnonymousClass()) {
+        S saved = super.save(clean(entity));
+        VersionStamps.touch(entityInformation.getJavaType(), entityInformation.getId(saved));
+        return saved;
+    }
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        List<S> cleaned = new ArrayList<>();
+        for (S entity : entities) cleaned.add(clean(entity));
+        return super.saveAll(cleaned);
+    }
+    @Override
+    public void delete(T entity) {
+        super.delete(entity);
+        VersionStamps.touch(entityInformation.getJavaType(), entityInformation.getId(entity));
+    }
+
+    @SuppressWarnings("unchecked")
+    static <S> S clean(S entity) {
+        if (entity == null || !entity.getClass().isAnonymousClass()) return entity;
+        return (S) COPIERS.get(entity.getClass()).copy(entity);
+    }
+
+    /** One copier per anonymous subclass, built on first use: the entity superclass constructor plus getter/setter handles for every instance field. */
+    private static final ClassValue<Copier> COPIERS = new ClassValue<>() {
+        @Override protected Copier computeValue(Class<?> type) { return Copier.of(type.getSuperclass()); }
+    };
+
+    private record Copier(Class<?> target, MethodHandle constructor, MethodHandle[] getters, MethodHandle[] setters) {
+        static final MethodType FACTORY = MethodType.methodType(Object.class);
+        static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+        static final MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+        static Copier of(Class<?> target) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(target, MethodHandles.lookup());
+                List<MethodHandle> getters = new ArrayList<>(), setters = new ArrayList<>();
+                for (Class<?> c = target; c != null && c != Object.class; c = c.getSuperclass()) {
+                    MethodHandles.Lookup owner = c == target ? lookup : MethodHandles.privateLookupIn(c, MethodHandles.lookup());
+                    for (Field f : c.getDeclaredFields()) {
+                        if (Modifier.isStatic(f.getModifiers()) || Modifier.isFinal(f.getModifiers())) continue;
+                        getters.add(owner.unreflectGetter(f).asType(GETTER));
+                        setters.add(owner.unreflectSetter(f).asType(SETTER));
+                    }
+                }
+                return new Copier(target, lookup.findConstructor(target, MethodType.methodType(void.class)).asType(FACTORY),
+                        getters.toArray(MethodHandle[]::new), setters.toArray(MethodHandle[]::new));
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot build copier for " + target.getName(), e);
+            }
+        }
+
+        Object copy(Object source) {
             try {
-                Class<?> superclass = entity.getClass().getSuperclass();
-                S clean = (S) superclass.getDeclaredConstructor().newInstance();
-                BeanUtils.copyProperties(entity, clean);
-                return super.save(clean);
-            } catch (Exception e) { e.printStackTrace(); }
+                Object clean = (Object) constructor.invokeExact();
+                for (int i = 0; i < getters.length; i++) setters[i].invokeExact(clean, (Object) getters[i].invokeExact(source));
+                return clean;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Cannot copy " + source.getClass().getName() + " to " + target.getName(), e);
+            }
         }
-        return super.save(entity);
     }
 }
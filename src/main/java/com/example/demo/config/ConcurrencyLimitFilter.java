@@ -0,0 +1,88 @@
+package com.example.demo.config;
+
+import com.example.demo.util.AdaptiveLimit;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Sheds load before it reaches the connection pool. Requests fall into groups: reads (GET/HEAD), auth (mutations
+ * under {@code /auth}, where registration runs BCrypt) and writes (every other mutation). Each group has its own
+ * {@link AdaptiveLimit}, and a request over it gets 503 with Retry-After at once instead of queueing on Hikari.
+ * Reads have priority: every cut of the read limit also cuts writes and auth, which share the pool and the CPU,
+ * while their cuts never shrink the read limit. Only the request thread's time counts, so async continuations
+ * (streams, feeds, logins on the hashing pool) are bounded by their own executors. Long-running synchronous paths
+ * (export, import, archiving, checkpoints) bypass the limiter by default, since one of them taking minutes would read
+ * as congestion and cut every group; {@code app.concurrency.exclude} overrides the list.
+ */
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    public enum Group { READ, WRITE, AUTH }
+    static final String DEFAULT_EXCLUDED = "/actuator/**,/swagger-ui/**,/v3/api-docs/**,/api/**/stream,/api/events/feed,"
+            + "/api/assets/export,/api/assets/import/**,/api/events/archive,/api/depreciation/checkpoints";
+
+    private final boolean enabled;
+    private final Map<Group, AdaptiveLimit> limits = new EnumMap<>(Group.class);
+    private final List<String> excluded;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+
+    public ConcurrencyLimitFilter(@Value("${app.concurrency.enabled:true}") boolean enabled,
+                                  @Value("${app.concurrency.initial-limit:20}") int initialLimit,
+                                  @Value("${app.concurrency.min-limit:2}") int minLimit,
+                                  @Value("${app.concurrency.max-limit:200}") int maxLimit,
+                                  @Value("${app.concurrency.tolerance:2.0}") double tolerance,
+                                  @Value("${app.concurrency.backoff-ratio:0.9}") double backoffRatio,
+                                  @Value("${app.concurrency.exclude:" + DEFAULT_EXCLUDED + "}") List<String> excluded) {
+        this.enabled = enabled;
+        this.excluded = List.copyOf(excluded);
+        for (Group group : Group.values()) limits.put(group, new AdaptiveLimit(initialLimit, minLimit, maxLimit, tolerance, backoffRatio));
+    }
+
+    public AdaptiveLimit getLimit(Group group) { return limits.get(group); }
+
+    @Override protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || "OPTIONS".equals(request.getMethod())) return true;
+        String path = path(request);
+        for (String pattern : excluded) if (matcher.match(pattern, path)) return true;
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        Group group = group(request.getMethod(), path(request));
+        AdaptiveLimit limit = limits.get(group);
+        if (!limit.tryAcquire()) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Too many concurrent " + group.name().toLowerCase(Locale.ROOT) + " requests, retry shortly\"}");
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            boolean cut = limit.release(System.nanoTime() - start, response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value());
+            if (cut && group == Group.READ) { limits.get(Group.WRITE).backOff(); limits.get(Group.AUTH).backOff(); }
+        }
+    }
+
+    static Group group(String method, String path) {
+        if ("GET".equals(method) || "HEAD".equals(method)) return Group.READ;
+        return path.startsWith("/auth/") ? Group.AUTH : Group.WRITE;
+    }
+
+    private static String path(HttpServletRequest request) { return request.getRequestURI().substring(request.getContextPath().length()); }
+}
@@ -1,37 +1,53 @@
 package com.example.demo.config;
 
 import com.example.demo.util.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtFilter extends OncePerRequestFilter {
     private final JwtUtil jwtUtil;
-    public JwtFilter(JwtUtil jwtUtil) { this.jwtUtil = jwtUtil; }
+    /** Keeps the authentication on the request so async dispatches (streams, feeds, deferred results) stay authorised. */
+    private final SecurityContextRepository contextRepository = new RequestAttributeSecurityContextRepository();
+    private final Timer missing, valid, rejected;
+    public JwtFilter(JwtUtil jwtUtil, MeterRegistry registry) {
+        this.jwtUtil = jwtUtil;
+        this.missing = timer(registry, "missing"); this.valid = timer(registry, "valid"); this.rejected = timer(registry, "rejected");
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        long start = System.nanoTime();
         String header = request.getHeader("Authorization");
+        Timer outcome = missing;
         if (header != null && header.startsWith("Bearer ")) {
-            String token = header.substring(7);
-            if (jwtUtil.validateToken(token)) {
-                var claims = jwtUtil.getClaims(token);
-                String email = claims.getSubject();
-                List<?> roles = claims.get("roles", List.class);
-                var authorities = roles.stream().map(r -> new SimpleGrantedAuthority("ROLE_" + r)).collect(Collectors.toList());
-                SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(email, null, authorities));
+            var verified = jwtUtil.verify(header.substring(7));
+            outcome = verified == null ? rejected : valid;
+            if (verified != null) {
+                String email = verified.subject();
+                SecurityContext context = SecurityContextHolder.getContext();
+                context.setAuthentication(new UsernamePasswordAuthenticationToken(email, null, verified.authorities()));
+                contextRepository.saveContext(context, request, response);
             }
         }
+        outcome.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         chain.doFilter(request, response);
     }
+
+    private static Timer timer(MeterRegistry registry, String outcome) {
+        return Timer.builder("app.auth.jwt.filter").description("Bearer token checks in JwtFilter").tag("outcome", outcome).register(registry);
+    }
 }
@@ -0,0 +1,146 @@
+package com.example.demo.config;
+
+import com.example.demo.util.AdaptiveLimit;
+import com.example.demo.util.JwtUtil;
+import com.example.demo.util.PasswordHasher;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ClassUtils;
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application meters on top of Boot's defaults ({@code http.server.requests}, {@code spring.data.repository.invocations},
+ * {@code hikaricp.*}, {@code hibernate.*}): a timer per service method, the BCrypt pool, JWT verification, database
+ * permits in virtual-thread mode, slow SQL, JDBC statements per request and the adaptive concurrency limits. Scraped
+ * from {@code /actuator/prometheus} on the management port.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfig {
+    static final String SERVICE_PACKAGE = "com.example.demo.service";
+
+    /** Adds the timer to the existing transactional proxy where there is one, so beans keep their concrete type. */
+    @Bean static AbstractAdvisingBeanPostProcessor serviceTimingPostProcessor(ObjectProvider<MeterRegistry> registry) {
+        AbstractAdvisingBeanPostProcessor processor = new AbstractAdvisingBeanPostProcessor() {
+            { this.advisor = new DefaultPointcutAdvisor(new ServiceMethodPointcut(), new ServiceTimer(registry)); this.beforeExistingAdvisors = true; }
+        };
+        processor.setProxyTargetClass(true);
+        return processor;
+    }
+
+    @Bean MeterBinder authMetrics(PasswordHasher hasher, JwtUtil jwt) {
+        return registry -> {
+            FunctionTimer.builder("app.auth.bcrypt", hasher.getHashLatency(), h -> h.getCount(), h -> h.getTotalNanos(), TimeUnit.NANOSECONDS)
+                    .description("BCrypt encode/verify time on the hashing pool").register(registry);
+            Gauge.builder("app.auth.bcrypt.queue", hasher, PasswordHasher::getQueueDepth).description("Hashing tasks waiting for a thread").register(registry);
+            Gauge.builder("app.auth.bcrypt.active", hasher, PasswordHasher::getActiveCount).register(registry);
+            FunctionCounter.builder("app.auth.jwt.validations", jwt, JwtUtil::getCacheHits).tag("outcome", "cached").register(registry);
+            FunctionCounter.builder("app.auth.jwt.validations", jwt, j -> j.getCacheMisses() - j.getExpiredCount() - j.getInvalidCount()).tag("outcome", "verified").register(registry);
+            FunctionCounter.builder("app.auth.jwt.validations", jwt, JwtUtil::getExpiredCount).tag("outcome", "expired").register(registry);
+            FunctionCounter.builder("app.auth.jwt.validations", jwt, JwtUtil::getInvalidCount).tag("outcome", "invalid").register(registry);
+        };
+    }
+
+    @Bean MeterBinder concurrencyMetrics(ConcurrencyLimitFilter filter) {
+        return registry -> {
+            for (ConcurrencyLimitFilter.Group group : ConcurrencyLimitFilter.Group.values()) {
+                AdaptiveLimit limit = filter.getLimit(group);
+                String tag = group.name().toLowerCase(Locale.ROOT);
+                Gauge.builder("app.concurrency.limit", limit, AdaptiveLimit::getLimit).tag("group", tag).description("Current adaptive concurrency limit").register(registry);
+                Gauge.builder("app.concurrency.in-flight", limit, AdaptiveLimit::getInFlight).tag("group", tag).register(registry);
+                FunctionCounter.builder("app.concurrency.rejected", limit, AdaptiveLimit::getRejected).tag("group", tag).description("Requests shed with 503 at the limit").register(registry);
+            }
+        };
+    }
+
+    @Bean MeterBinder dataSourceMetrics(ObjectProvider<DataSource> dataSources) {
+        return registry -> dataSources.orderedStream().forEach(ds -> {
+            BoundedDataSource bounded = unwrap(ds, BoundedDataSource.class);
+            if (bounded != null) {
+                Gauge.builder("app.db.permits.available", bounded, BoundedDataSource::getAvailablePermits).register(registry);
+                Gauge.builder("app.db.permits.waiting", bounded, BoundedDataSource::getQueueLength).description("Threads parked waiting for a database permit").register(registry);
+            }
+            TracingDataSource tracing = unwrap(ds, TracingDataSource.class);
+            if (tracing != null)
+                FunctionCounter.builder("app.sql.slow", tracing, TracingDataSource::getSlowStatements).description("Statements over app.sql.slow-query-ms").register(registry);
+            ReadWriteRoutingDataSource routing = unwrap(ds, ReadWriteRoutingDataSource.class);
+            if (routing != null) {
+                FunctionCounter.builder("app.db.routing", routing, ReadWriteRoutingDataSource::getPrimaryRoutes).tag("target", "primary").register(registry);
+                FunctionCounter.builder("app.db.routing", routing, ReadWriteRoutingDataSource::getReplicaRoutes).tag("target", "replica").register(registry);
+                FunctionCounter.builder("app.db.routing.fallbacks", routing, ReadWriteRoutingDataSource::getFallbacks).description("Reads sent to the primary after a replica connection failed").register(registry);
+                Gauge.builder("app.db.replica.healthy", routing, r -> r.isReplicaHealthy() ? 1 : 0).register(registry);
+            }
+        });
+    }
+
+    /** The wrappers nest in post-processor order, so look through the whole chain. */
+    static <T> T unwrap(DataSource ds, Class<T> type) {
+        try { return ds.isWrapperFor(type) ? ds.unwrap(type) : null; }
+        catch (SQLException e) { return null; }
+    }
+
+    /** Public methods of {@code service.impl} beans that implement a {@code service} interface method. */
+    static final class ServiceMethodPointcut extends StaticMethodMatcherPointcut {
+        @Override public ClassFilter getClassFilter() {
+            return type -> type.getPackageName().equals(SERVICE_PACKAGE + ".impl") && type.isAnnotationPresent(Service.class) && serviceInterface(type) != null;
+        }
+        @Override public boolean matches(Method method, Class<?> targetClass) {
+            Class<?> iface = serviceInterface(targetClass);
+            return iface != null && ClassUtils.hasMethod(iface, method.getName(), method.getParameterTypes());
+        }
+    }
+
+    static Class<?> serviceInterface(Class<?> type) {
+        for (Class<?> iface : ClassUtils.getAllInterfacesForClass(type)) if (iface.getPackageName().equals(SERVICE_PACKAGE)) return iface;
+        return null;
+    }
+
+    /** Times each call as {@code app.service}; asynchronous results are timed until the future completes. */
+    static final class ServiceTimer implements MethodInterceptor {
+        private final ObjectProvider<MeterRegistry> registry;
+        ServiceTimer(ObjectProvider<MeterRegistry> registry) { this.registry = registry; }
+
+        @Override public Object invoke(MethodInvocation invocation) throws Throwable {
+            MeterRegistry meters = registry.getIfAvailable();
+            if (meters == null) return invocation.proceed();
+            Timer.Sample sample = Timer.start(meters);
+            Class<?> iface = serviceInterface(invocation.getThis().getClass());
+            String service = iface == null ? invocation.getMethod().getDeclaringClass().getSimpleName() : iface.getSimpleName();
+            Object result;
+            try {
+                result = invocation.proceed();
+            } catch (Throwable e) {
+                stop(sample, meters, service, invocation.getMethod(), e);
+                throw e;
+            }
+            if (result instanceof CompletableFuture<?> future)
+                return future.whenComplete((r, e) -> stop(sample, meters, service, invocation.getMethod(), e instanceof CompletionException ce && ce.getCause() != null ? ce.getCause() : e));
+            stop(sample, meters, service, invocation.getMethod(), null);
+            return result;
+        }
+
+        private static void stop(Timer.Sample sample, MeterRegistry meters, String service, Method method, Throwable error) {
+            sample.stop(Timer.builder("app.service").description("Service method latency").tag("service", service).tag("method", method.getName())
+                    .tag("exception", error == null ? "none" : error.getClass().getSimpleName()).register(meters));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.demo.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary. The physical connection is
+ * fetched lazily on the first statement, after Spring has marked the transaction read-only. Requests pinned by
+ * {@link ReadYourWritesFilter} always use the primary, and a replica that fails a connection attempt or the
+ * periodic probe is skipped until the probe succeeds again.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+    private static final ThreadLocal<RequestRouting> REQUEST = new ThreadLocal<>();
+
+    private final DataSource primary, replica;
+    private final ScheduledExecutorService probe;
+    private volatile boolean replicaHealthy = true;
+    private final LongAdder primaryRoutes = new LongAdder(), replicaRoutes = new LongAdder(), fallbacks = new LongAdder();
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, long healthCheckMs) {
+        this.primary = primary; this.replica = replica;
+        setTargetDataSource(new Router());
+        this.probe = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "replica-health");
+            t.setDaemon(true);
+            return t;
+        });
+        probe.scheduleWithFixedDelay(this::checkReplica, healthCheckMs, healthCheckMs, TimeUnit.MILLISECONDS);
+    }
+
+    /** Opens the per-request routing scope; a pinned request never reads from the replica. */
+    static void beginRequest(boolean pinnedToPrimary) { REQUEST.set(new RequestRouting(pinnedToPrimary)); }
+
+    /** Closes the scope and reports whether the request ran a read-write transaction. */
+    static boolean endRequest() {
+        RequestRouting routing = REQUEST.get();
+        REQUEST.remove();
+        return routing != null && routing.wrote;
+    }
+
+    public boolean isReplicaHealthy() { return replicaHealthy; }
+    public long getPrimaryRoutes() { return primaryRoutes.sum(); }
+    public long getReplicaRoutes() { return replicaRoutes.sum(); }
+    public long getFallbacks() { return fallbacks.sum(); }
+
+    private Connection route() throws SQLException {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        RequestRouting routing = REQUEST.get();
+        if (readOnly && replicaHealthy && (routing == null || !routing.pinned)) {
+            try {
+                Connection connection = replica.getConnection();
+                replicaRoutes.increment();
+                return connection;
+            } catch (SQLException | RuntimeException e) {
+                fallbacks.increment();
+                markReplica(false, e);
+            }
+        }
+        if (!readOnly && routing != null && TransactionSynchronizationManager.isActualTransactionActive()) routing.wrote = true;
+        primaryRoutes.increment();
+        return primary.getConnection();
+    }
+
+    private void checkReplica() {
+        try (Connection connection = replica.getConnection()) {
+            markReplica(connection.isValid(2), null);
+        } catch (SQLException | RuntimeException e) {
+            markReplica(false, e);
+        }
+    }
+
+    private void markReplica(boolean healthy, Exception cause) {
+        if (replicaHealthy == healthy) return;
+        replicaHealthy = healthy;
+        if (healthy) log.info("Replica is reachable again, routing read-only transactions to it");
+        else log.warn("Replica unavailable, routing all reads to the primary: {}", cause == null ? "connection not valid" : cause.getMessage());
+    }
+
+    @Override public void close() throws Exception {
+        probe.shutdownNow();
+        try { if (replica instanceof AutoCloseable c) c.close(); }
+        finally { if (primary instanceof AutoCloseable c) c.close(); }
+    }
+
+    private static final class RequestRouting {
+        final boolean pinned;
+        boolean wrote;
+        RequestRouting(boolean pinned) { this.pinned = pinned; }
+    }
+
+    private final class Router extends AbstractDataSource {
+        @Override public Connection getConnection() throws SQLException { return route(); }
+        @Override public Connection getConnection(String username, String password) throws SQLException { return route(); }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.demo.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Only GET/HEAD/OPTIONS requests may read from the replica, so the checks a write makes never see a stale row.
+ * After any request runs a read-write transaction its client stays on the primary for
+ * {@code app.datasource.replica.sticky-ms}, so it reads its own writes despite replica lag. Clients are the
+ * authenticated user, or the remote address for anonymous calls. Runs after the security chain so the user is known.
+ */
+@Component
+@ConditionalOnProperty(name = "app.datasource.replica.url")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    static final int MAX_TRACKED_CLIENTS = 100_000;
+    private final long stickyMs;
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesFilter(@Value("${app.datasource.replica.sticky-ms:5000}") long stickyMs) { this.stickyMs = stickyMs; }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        String client = client(request);
+        Long until = pinnedUntil.get(client);
+        long now = System.currentTimeMillis();
+        boolean safe = "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()) || "OPTIONS".equals(request.getMethod());
+        ReadWriteRoutingDataSource.beginRequest(!safe || (until != null && until > now));
+        boolean wrote = false;
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            wrote = ReadWriteRoutingDataSource.endRequest();
+        }
+        if (wrote) {
+            if (pinnedUntil.size() >= MAX_TRACKED_CLIENTS) pinnedUntil.values().removeIf(t -> t <= now);
+            pinnedUntil.put(client, System.currentTimeMillis() + stickyMs);
+        }
+    }
+
+    private static String client(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken) ? "user:" + auth.getName() : "addr:" + request.getRemoteAddr();
+    }
+}
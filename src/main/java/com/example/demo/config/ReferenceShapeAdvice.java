@@ -0,0 +1,110 @@
+package com.example.demo.config;
+
+import com.example.demo.dto.AssetPage;
+import com.example.demo.entity.Asset;
+import com.example.demo.entity.AssetDisposal;
+import com.example.demo.entity.AssetLifecycleEvent;
+import com.example.demo.entity.DepreciationRule;
+import com.example.demo.entity.Vendor;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.hibernate.Hibernate;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code ?shape=refs} flattens entity graphs: every asset, vendor and rule in the response is sent once, in
+ * {@code assets}/{@code vendors}/{@code rules} tables keyed by id, and the rows under {@code data} carry
+ * {@code vendorId}, {@code depreciationRuleId} and {@code assetId} instead of nested objects. The envelope is
+ * buffered as Jackson tokens, so the negotiated converter still writes it as JSON, Smile or CBOR.
+ */
+@RestControllerAdvice
+public class ReferenceShapeAdvice implements ResponseBodyAdvice<Object> {
+    public static final String PARAM = "shape", REFS = "refs", FULL = "full";
+    private final ObjectMapper refsMapper;
+
+    public ReferenceShapeAdvice(ObjectMapper mapper) {
+        this.refsMapper = mapper.copy()
+                .addMixIn(Asset.class, AssetRefs.class)
+                .addMixIn(AssetLifecycleEvent.class, OwnedByAsset.class)
+                .addMixIn(AssetDisposal.class, OwnedByAsset.class);
+    }
+
+    @Override public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType) && returnType.getContainingClass().isAnnotationPresent(RestController.class);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType contentType, Class<? extends HttpMessageConverter<?>> converterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servlet)) return body;
+        String shape = servlet.getServletRequest().getParameter(PARAM);
+        if (shape == null || shape.equalsIgnoreCase(FULL)) return body;
+        if (!shape.equalsIgnoreCase(REFS)) throw new IllegalArgumentException("Unknown shape: " + shape + " (expected " + FULL + " or " + REFS + ")");
+        Refs refs = new Refs(body, new LinkedHashMap<>(), new LinkedHashMap<>(), new LinkedHashMap<>());
+        refs.collect(body);
+        TokenBuffer tokens = new TokenBuffer(refsMapper, false);
+        try { refsMapper.writeValue(tokens, refs); } catch (IOException e) { throw new UncheckedIOException(e); }
+        return tokens;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private record Refs(@JsonInclude(JsonInclude.Include.ALWAYS) Object data, Map<Long, Asset> assets, Map<Long, Vendor> vendors, Map<Long, DepreciationRule> rules) {
+        void collect(Object value) {
+            if (value instanceof Collection<?> items) items.forEach(this::collect);
+            else if (value instanceof Map<?, ?> map) map.values().forEach(this::collect);
+            else if (value instanceof AssetPage page) collect(page.getItems());
+            else if (value instanceof AssetLifecycleEvent event) collectAsset(event.getAsset());
+            else if (value instanceof AssetDisposal disposal) collectAsset(disposal.getAsset());
+            else if (value instanceof Asset asset) collectReferences(asset);
+        }
+
+        private void collectAsset(Asset asset) {
+            if (asset == null || assets.containsKey(asset.getId())) return;
+            Asset loaded = (Asset) Hibernate.unproxy(asset);
+            assets.put(loaded.getId(), loaded);
+            collectReferences(loaded);
+        }
+
+        private void collectReferences(Asset asset) {
+            if (asset.getVendor() != null) vendors.computeIfAbsent(asset.getVendor().getId(), id -> (Vendor) Hibernate.unproxy(asset.getVendor()));
+            if (asset.getDepreciationRule() != null) rules.computeIfAbsent(asset.getDepreciationRule().getId(), id -> (DepreciationRule) Hibernate.unproxy(asset.getDepreciationRule()));
+        }
+    }
+
+    private abstract static class AssetRefs {
+        @JsonProperty("vendorId") @JsonSerialize(using = IdOnly.class) abstract Vendor getVendor();
+        @JsonProperty("depreciationRuleId") @JsonSerialize(using = IdOnly.class) abstract DepreciationRule getDepreciationRule();
+    }
+
+    private abstract static class OwnedByAsset {
+        @JsonProperty("assetId") @JsonSerialize(using = IdOnly.class) abstract Asset getAsset();
+    }
+
+    /** Reads the id through a Hibernate proxy without initialising it. */
+    private static final class IdOnly extends JsonSerializer<Object> {
+        @Override public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            Long id = value instanceof Asset a ? a.getId() : value instanceof Vendor v ? v.getId() : value instanceof DepreciationRule r ? r.getId() : null;
+            if (id == null) gen.writeNull(); else gen.writeNumber(id);
+        }
+    }
+}
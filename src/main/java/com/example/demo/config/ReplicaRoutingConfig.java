@@ -0,0 +1,55 @@
+package com.example.demo.config;
+
+import com.example.demo.util.VersionStamps;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+/**
+ * Setting {@code app.datasource.replica.url} replaces the single pool with a primary pool
+ * ({@code spring.datasource.*}) and a replica pool ({@code app.datasource.replica.*}, credentials default to the
+ * primary's) behind {@link ReadWriteRoutingDataSource}. ReadWriteRoutingDataSourceTest runs the pair as two embedded
+ * H2 databases.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.datasource.replica.url")
+public class ReplicaRoutingConfig {
+    @Bean ReadWriteRoutingDataSource dataSource(DataSourceProperties primaryProperties, Environment env, ObjectProvider<MeterRegistry> registry) {
+        Binder binder = Binder.get(env);
+        DataSourceProperties replicaProperties = binder.bind("app.datasource.replica", DataSourceProperties.class).get();
+        if (!StringUtils.hasText(replicaProperties.getUsername())) replicaProperties.setUsername(primaryProperties.determineUsername());
+        if (replicaProperties.getPassword() == null) replicaProperties.setPassword(primaryProperties.determinePassword());
+        VersionStamps.settleAfter(env.getProperty("app.datasource.replica.sticky-ms", Long.class, 5000L));
+        HikariDataSource primary = pool(primaryProperties, binder, "spring.datasource.hikari", "primary", registry);
+        HikariDataSource replica = pool(replicaProperties, binder, "app.datasource.replica.hikari", "replica", registry);
+        return new ReadWriteRoutingDataSource(primary, replica, env.getProperty("app.datasource.replica.health-check-ms", Long.class, 5000L));
+    }
+
+    /**
+     * Spring's default holds the first connection for the whole EntityManager, which under open-in-view is the whole
+     * request; releasing after each transaction lets every transaction be routed on its own read-only flag.
+     */
+    @Bean HibernatePropertiesCustomizer releaseConnectionsAfterTransaction() {
+        return props -> props.put(AvailableSettings.CONNECTION_HANDLING, PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, Binder binder, String hikariPrefix, String name, ObjectProvider<MeterRegistry> registry) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind(hikariPrefix, Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        registry.ifAvailable(r -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(r)));
+        return pool;
+    }
+}
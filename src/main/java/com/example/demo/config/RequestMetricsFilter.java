@@ -0,0 +1,50 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how many JDBC statements each request issued and how long they took, tagged like {@code http.server.requests}.
+ * Requests that end over their {@link StatementBudget} are logged with the final count, which includes lazy loads
+ * during serialization that the budget header could not see.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(RequestMetricsFilter.class);
+    private final MeterRegistry registry;
+    public RequestMetricsFilter(MeterRegistry registry) { this.registry = registry; }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        RequestStatements tally = RequestStatements.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestStatements.end();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+            DistributionSummary.builder("app.request.statements").baseUnit("statements")
+                    .tag("method", request.getMethod()).tag("uri", uri).register(registry).record(tally.getStatements());
+            Timer.builder("app.request.jdbc").description("JDBC execute time per request")
+                    .tag("method", request.getMethod()).tag("uri", uri).register(registry).record(tally.getJdbcNanos(), TimeUnit.NANOSECONDS);
+            if (request.getAttribute(StatementBudgetAdvice.BUDGET_ATTRIBUTE) instanceof Integer budget && tally.getStatements() > budget)
+                log.warn("{} {} issued {} statements over a budget of {} ({} ms in JDBC)", request.getMethod(), uri, tally.getStatements(), budget,
+                        TimeUnit.NANOSECONDS.toMillis(tally.getJdbcNanos()));
+        }
+    }
+}
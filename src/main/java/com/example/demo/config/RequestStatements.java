@@ -0,0 +1,25 @@
+package com.example.demo.config;
+
+/**
+ * Per-thread tally of JDBC statements and the time spent executing them, opened by {@link RequestMetricsFilter}
+ * for each request and fed by {@link TracingDataSource}. Work outside a request (startup, scheduled jobs) is not counted.
+ */
+public final class RequestStatements {
+    private static final ThreadLocal<RequestStatements> CURRENT = new ThreadLocal<>();
+    private int statements;
+    private long jdbcNanos;
+
+    private RequestStatements() {}
+
+    public static RequestStatements begin() { RequestStatements tally = new RequestStatements(); CURRENT.set(tally); return tally; }
+    public static RequestStatements current() { return CURRENT.get(); }
+    public static void end() { CURRENT.remove(); }
+
+    static void record(long nanos) {
+        RequestStatements tally = CURRENT.get();
+        if (tally != null) { tally.statements++; tally.jdbcNanos += nanos; }
+    }
+
+    public int getStatements() { return statements; }
+    public long getJdbcNanos() { return jdbcNanos; }
+}
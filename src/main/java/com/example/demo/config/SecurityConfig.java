@@ -1,5 +1,8 @@
 package com.example.demo.config;
 
+import com.example.demo.entity.Role;
+import com.example.demo.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -8,32 +11,57 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 @Configuration
 public class SecurityConfig {
     private final JwtFilter jwtFilter;
-    public SecurityConfig(JwtFilter jwtFilter) { this.jwtFilter = jwtFilter; }
+    private final ConcurrencyLimitFilter concurrencyLimitFilter;
+    public SecurityConfig(JwtFilter jwtFilter, ConcurrencyLimitFilter concurrencyLimitFilter) { this.jwtFilter = jwtFilter; this.concurrencyLimitFilter = concurrencyLimitFilter; }
 
+    /** Prometheus scrapes without a token, but only on the management port, which listens on an internal address. */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, @Value("${management.server.port:-1}") int managementPort) throws Exception {
+        RequestMatcher scrape = new AndRequestMatcher(request -> request.getLocalPort() == managementPort, AntPathRequestMatcher.antMatcher("/actuator/prometheus"));
         http.csrf(c -> c.disable())
             .sessionManagement(s -> s.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(a -> a
                 .requestMatchers("/auth/**", "/swagger-ui/**", "/v3/api-docs/**", "/").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers(scrape).permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.POST, "/api/disposals/approve/**").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.POST, "/api/events/archive").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.POST, "/api/assets/search/rebuild").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.POST, "/api/assets/stats/reconcile").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.POST, "/api/depreciation/checkpoints").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.DELETE, "/api/cache-stats/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
             .exceptionHandling(e -> e.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
-            .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterBefore(concurrencyLimitFilter, JwtFilter.class);
         return http.build();
     }
     @Bean
     public PasswordEncoder passwordEncoder() { return new BCryptPasswordEncoder(); }
+    /** Backs the AuthenticationManager with the users table; without it the manager delegated to itself. */
+    @Bean
+    public UserDetailsService userDetailsService(UserRepository userRepo) {
+        return email -> userRepo.findByEmail(email)
+            .map(u -> org.springframework.security.core.userdetails.User.withUsername(u.getEmail()).password(u.getPassword())
+                .roles(u.getRoles().stream().map(Role::getName).toArray(String[]::new)).build())
+            .orElseThrow(() -> new UsernameNotFoundException(email));
+    }
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception { return config.getAuthenticationManager(); }
 }
@@ -0,0 +1,22 @@
+package com.example.demo.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import javax.sql.DataSource;
+
+/** Wraps the DataSource in {@link TracingDataSource}; thresholds come from {@code app.sql.*}. */
+@Configuration(proxyBeanMethods = false)
+public class SqlDiagnosticsConfig {
+    @Bean static BeanPostProcessor tracingDataSourcePostProcessor(Environment env) {
+        long slowQueryMs = env.getProperty("app.sql.slow-query-ms", Long.class, 500L);
+        boolean logParameters = env.getProperty("app.sql.log-parameters", Boolean.class, false);
+        return new BeanPostProcessor() {
+            @Override public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource ds) || MetricsConfig.unwrap(ds, TracingDataSource.class) != null) return bean;
+                return new TracingDataSource(ds, slowQueryMs, logParameters);
+            }
+        };
+    }
+}
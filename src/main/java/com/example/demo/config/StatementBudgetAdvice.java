@@ -0,0 +1,49 @@
+package com.example.demo.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Compares the statements a handler issued with its {@link StatementBudget} (or {@code app.sql.budget.default})
+ * just before the body is written. Over budget, {@code warn} adds an {@value #HEADER} header and {@code fail}
+ * turns the response into an error, which is how integration tests catch N+1 regressions.
+ */
+@RestControllerAdvice
+public class StatementBudgetAdvice implements ResponseBodyAdvice<Object> {
+    static final String HEADER = "X-Statement-Budget";
+    static final String BUDGET_ATTRIBUTE = StatementBudgetAdvice.class.getName() + ".budget";
+    private final int defaultBudget;
+    private final boolean fail;
+
+    public StatementBudgetAdvice(@Value("${app.sql.budget.default:0}") int defaultBudget, @Value("${app.sql.budget.mode:warn}") String mode) {
+        this.defaultBudget = defaultBudget;
+        this.fail = "fail".equalsIgnoreCase(mode);
+    }
+
+    @Override public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) { return true; }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType contentType, Class<? extends HttpMessageConverter<?>> converterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestStatements tally = RequestStatements.current();
+        if (tally == null || !(request instanceof ServletServerHttpRequest servlet)) return body;
+        HttpServletRequest raw = servlet.getServletRequest();
+        if (raw.getAttribute(BUDGET_ATTRIBUTE) != null) return body;
+        StatementBudget annotation = returnType.getMethodAnnotation(StatementBudget.class);
+        int budget = annotation != null ? annotation.value() : defaultBudget;
+        if (budget <= 0) return body;
+        raw.setAttribute(BUDGET_ATTRIBUTE, budget);
+        if (tally.getStatements() <= budget) return body;
+        if (fail) throw new IllegalStateException("Statement budget exceeded: " + tally.getStatements() + " statements, budget " + budget);
+        response.getHeaders().add(HEADER, "exceeded; statements=" + tally.getStatements() + "; budget=" + budget);
+        return body;
+    }
+}
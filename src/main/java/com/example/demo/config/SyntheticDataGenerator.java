@@ -0,0 +1,149 @@
+package com.example.demo.config;
+
+import com.example.demo.entity.Asset;
+import com.example.demo.entity.AssetDisposal;
+import com.example.demo.entity.DepreciationRule;
+import com.example.demo.entity.Vendor;
+import com.example.demo.util.VersionStamps;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Generates a production-sized register for load and query testing. Vendor popularity is Zipf-like, costs are
+ * log-normal, purchase dates span ten years, events per asset are Poisson and older assets are disposed of.
+ * Everything is written with JDBC batches and is skipped if the synthetic vendors already exist.
+ */
+@Component
+@ConditionalOnProperty(name = "app.seed.synthetic.enabled", havingValue = "true")
+public class SyntheticDataGenerator implements CommandLineRunner {
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+    static final String VENDOR_PREFIX = "SYN-V-";
+    static final String RULE_PREFIX = "SYN-R-";
+    static final String ASSET_PREFIX = "SYN-A-";
+    static final String[] EVENT_TYPES = { "AUDIT", "MAINTENANCE", "REPAIR", "TRANSFER", "INSPECTION" };
+    static final String[] DISPOSAL_METHODS = { "SALE", "SCRAP", "DONATION", "TRADE_IN" };
+
+    private final JdbcTemplate jdbc;
+    private final int vendors, rules, assets, batchSize;
+    private final double eventsPerAsset, disposalRate;
+    private final SplittableRandom random;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbc,
+                                  @Value("${app.seed.synthetic.vendors:200}") int vendors,
+                                  @Value("${app.seed.synthetic.rules:20}") int rules,
+                                  @Value("${app.seed.synthetic.assets:100000}") int assets,
+                                  @Value("${app.seed.synthetic.events-per-asset:3}") double eventsPerAsset,
+                                  @Value("${app.seed.synthetic.disposal-rate:0.1}") double disposalRate,
+                                  @Value("${app.seed.synthetic.batch-size:1000}") int batchSize,
+                                  @Value("${app.seed.synthetic.random-seed:42}") long seed) {
+        this.jdbc = jdbc; this.vendors = Math.max(1, vendors); this.rules = Math.max(1, rules); this.assets = assets;
+        this.eventsPerAsset = eventsPerAsset; this.disposalRate = disposalRate; this.batchSize = Math.max(1, batchSize);
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public void run(String... args) {
+        Integer existing = jdbc.queryForObject("select count(*) from vendors where vendor_name like ?", Integer.class, VENDOR_PREFIX + "%");
+        if (existing != null && existing > 0) { log.info("Synthetic data already present, skipping generation"); return; }
+        long started = System.currentTimeMillis();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long[] vendorIds = insertVendors(now);
+        long[] ruleIds = insertRules(now);
+        int[] ruleLife = jdbc.query("select useful_life_years from depreciation_rules where rule_name like ? order by id",
+                (rs, i) -> rs.getInt(1), RULE_PREFIX + "%").stream().mapToInt(Integer::intValue).toArray();
+        double[] vendorCdf = zipfCdf(vendorIds.length, 1.1);
+        LocalDate today = LocalDate.now();
+        long[] counts = new long[3];
+        for (int from = 0; from < assets; from += batchSize) {
+            int n = Math.min(batchSize, assets - from);
+            List<Object[]> assetRows = new ArrayList<>(n);
+            double[] cost = new double[n]; LocalDate[] purchased = new LocalDate[n]; int[] rule = new int[n]; boolean[] disposed = new boolean[n];
+            for (int i = 0; i < n; i++) {
+                int vendor = Arrays.binarySearch(vendorCdf, random.nextDouble());
+                vendor = vendor < 0 ? Math.min(-vendor - 1, vendorIds.length - 1) : vendor;
+                rule[i] = random.nextInt(ruleIds.length);
+                cost[i] = Math.round(Math.exp(Math.log(2000) + random.nextGaussian()) * 100) / 100.0 + 1;
+                purchased[i] = today.minusDays(random.nextInt(3650));
+                long ageYears = purchased[i].until(today).getYears();
+                disposed[i] = ageYears >= ruleLife[rule[i]] / 2 && random.nextDouble() < disposalRate * 2;
+                String status = disposed[i] ? "DISPOSED" : random.nextDouble() < 0.05 ? "MAINTENANCE" : "ACTIVE";
+                assetRows.add(new Object[] { tag(from + i), "Synthetic asset " + (from + i), vendorIds[vendor], ruleIds[rule[i]],
+                        Date.valueOf(purchased[i]), cost[i], status, now });
+            }
+            jdbc.batchUpdate("insert into assets (asset_tag, asset_name, vendor_id, depreciation_rule_id, purchase_date, purchase_cost, status, created_at) values (?, ?, ?, ?, ?, ?, ?, ?)", assetRows);
+            Map<String, Long> idsByTag = new HashMap<>(n * 2);
+            jdbc.query("select id, asset_tag from assets where asset_tag between ? and ?", rs -> { idsByTag.put(rs.getString(2), rs.getLong(1)); },
+                    tag(from), tag(from + n - 1));
+            List<Object[]> events = new ArrayList<>(), disposals = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                long assetId = idsByTag.get(tag(from + i));
+                long span = Math.max(1, purchased[i].until(today, ChronoUnit.DAYS));
+                for (int e = poisson(eventsPerAsset); e > 0; e--) {
+                    String type = EVENT_TYPES[random.nextInt(EVENT_TYPES.length)];
+                    events.add(new Object[] { assetId, type, type.toLowerCase() + " recorded by generator", Date.valueOf(purchased[i].plusDays(random.nextLong(span))), now });
+                }
+                if (disposed[i]) {
+                    double residual = cost[i] * random.nextDouble() * 0.3;
+                    disposals.add(new Object[] { assetId, DISPOSAL_METHODS[random.nextInt(DISPOSAL_METHODS.length)], Math.round(residual * 100) / 100.0,
+                            Date.valueOf(purchased[i].plusDays(random.nextLong(span))), now });
+                }
+            }
+            if (!events.isEmpty()) jdbc.batchUpdate("insert into asset_lifecycle_events (asset_id, event_type, event_description, event_date, logged_at) values (?, ?, ?, ?, ?)", events);
+            if (!disposals.isEmpty()) jdbc.batchUpdate("insert into asset_disposals (asset_id, disposal_method, disposal_value, disposal_date, created_at) values (?, ?, ?, ?, ?)", disposals);
+            counts[0] += n; counts[1] += events.size(); counts[2] += disposals.size();
+        }
+        for (Class<?> table : List.of(Vendor.class, DepreciationRule.class, Asset.class, AssetDisposal.class)) VersionStamps.touchTable(table);
+        log.info("Generated {} vendors, {} rules, {} assets, {} events, {} disposals in {} ms", vendorIds.length, ruleIds.length,
+                counts[0], counts[1], counts[2], System.currentTimeMillis() - started);
+    }
+
+    private long[] insertVendors(Timestamp now) {
+        List<Object[]> rows = new ArrayList<>(vendors);
+        for (int i = 0; i < vendors; i++) rows.add(new Object[] { String.format("%s%05d", VENDOR_PREFIX, i), "vendor" + i + "@example.com", "+1-555-" + (1000 + i % 9000), now });
+        jdbc.batchUpdate("insert into vendors (vendor_name, contact_email, phone, created_at) values (?, ?, ?, ?)", rows);
+        return jdbc.queryForList("select id from vendors where vendor_name like ? order by vendor_name", Long.class, VENDOR_PREFIX + "%").stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private long[] insertRules(Timestamp now) {
+        List<Object[]> rows = new ArrayList<>(rules);
+        for (int i = 0; i < rules; i++) {
+            String method = random.nextDouble() < 0.7 ? "STRAIGHT_LINE" : "DECLINING_BALANCE";
+            rows.add(new Object[] { String.format("%s%03d", RULE_PREFIX, i), method, 3 + random.nextInt(8), (double) random.nextInt(500), now });
+        }
+        jdbc.batchUpdate("insert into depreciation_rules (rule_name, method, useful_life_years, salvage_value, created_at) values (?, ?, ?, ?, ?)", rows);
+        return jdbc.queryForList("select id from depreciation_rules where rule_name like ? order by id", Long.class, RULE_PREFIX + "%").stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static String tag(int i) { return String.format("%s%09d", ASSET_PREFIX, i); }
+
+    private int poisson(double lambda) {
+        double l = Math.exp(-lambda), p = 1.0;
+        int k = 0;
+        do { k++; p *= random.nextDouble(); } while (p > l);
+        return k - 1;
+    }
+
+    static double[] zipfCdf(int n, double s) {
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) { sum += 1.0 / Math.pow(i + 1, s); cdf[i] = sum; }
+        for (int i = 0; i < n; i++) cdf[i] /= sum;
+        return cdf;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.demo.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+import javax.sql.DataSource;
+
+/**
+ * {@code app.threads.mode=virtual} runs Tomcat requests, {@code @Async}/MVC async work and scheduled jobs on
+ * virtual threads and bounds database concurrency with {@link BoundedDataSource}. The build targets Java 17,
+ * so the mode only engages on a Java 21+ runtime; elsewhere the default platform pools stay in place.
+ */
+@Configuration(proxyBeanMethods = false)
+@Conditional(ThreadingConfig.VirtualThreadsCondition.class)
+public class ThreadingConfig {
+    private static final Logger log = LoggerFactory.getLogger(ThreadingConfig.class);
+
+    @Bean WebServerFactoryCustomizer<TomcatServletWebServerFactory> virtualThreadTomcat() {
+        return factory -> factory.addProtocolHandlerCustomizers(handler -> handler.setExecutor(virtualExecutor("http-vt-")));
+    }
+
+    @Bean(name = { "applicationTaskExecutor", "taskExecutor" }) SimpleAsyncTaskExecutor applicationTaskExecutor() {
+        return virtualExecutor("task-vt-");
+    }
+
+    @Bean SimpleAsyncTaskScheduler taskScheduler() {
+        SimpleAsyncTaskScheduler scheduler = new SimpleAsyncTaskScheduler();
+        scheduler.setThreadNamePrefix("sched-vt-");
+        scheduler.setVirtualThreads(true);
+        return scheduler;
+    }
+
+    @Bean static BeanPostProcessor boundedDataSourcePostProcessor(Environment env) {
+        int permits = env.getProperty("app.threads.db-permits", Integer.class, env.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        long timeoutMs = env.getProperty("app.threads.db-permit-timeout-ms", Long.class, 30_000L);
+        return new BeanPostProcessor() {
+            @Override public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource ds) || bean instanceof BoundedDataSource) return bean;
+                log.info("Virtual-thread mode: bounding '{}' to {} concurrent connections", beanName, permits);
+                return new BoundedDataSource(ds, permits, timeoutMs);
+            }
+        };
+    }
+
+    static SimpleAsyncTaskExecutor virtualExecutor(String prefix) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(prefix);
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    /** Spring's virtual-thread delegate throws on runtimes older than 21, which doubles as the capability probe. */
+    public static boolean virtualThreadsSupported() {
+        try { new SimpleAsyncTaskExecutor().setVirtualThreads(true); return true; }
+        catch (UnsupportedOperationException e) { return false; }
+    }
+
+    static class VirtualThreadsCondition extends SpringBootCondition {
+        @Override public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            String mode = context.getEnvironment().getProperty("app.threads.mode", "platform");
+            if (!"virtual".equalsIgnoreCase(mode)) return ConditionOutcome.noMatch("app.threads.mode=" + mode);
+            if (!virtualThreadsSupported()) {
+                log.warn("app.threads.mode=virtual needs Java 21+ (running {}); keeping platform thread pools", Runtime.version());
+                return ConditionOutcome.noMatch("virtual threads unsupported on Java " + Runtime.version().feature());
+            }
+            return ConditionOutcome.match("virtual threads enabled");
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.demo.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Times every statement executed through the pool, adds it to the current {@link RequestStatements} tally and logs
+ * statements slower than the threshold. With {@code logParameters} the log line also describes the bind parameters
+ * by type and size, never by value, since they carry emails and password hashes. Covers Hibernate and JdbcTemplate
+ * alike; time spent reading result sets after execute returns is not included.
+ */
+public class TracingDataSource extends DelegatingDataSource implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(TracingDataSource.class);
+    private final long slowNanos;
+    private final boolean logParameters;
+    private final LongAdder slowStatements = new LongAdder();
+
+    public TracingDataSource(DataSource target, long slowQueryMs, boolean logParameters) {
+        super(target);
+        this.slowNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryMs);
+        this.logParameters = logParameters;
+    }
+
+    @Override public Connection getConnection() throws SQLException { return tracing(obtainTargetDataSource().getConnection()); }
+    @Override public Connection getConnection(String username, String password) throws SQLException { return tracing(obtainTargetDataSource().getConnection(username, password)); }
+
+    public long getSlowStatements() { return slowStatements.sum(); }
+
+    /** Wrapping hides the pool's close() from Spring's destroy-method inference, so pass it on. */
+    @Override public void close() throws Exception { if (obtainTargetDataSource() instanceof AutoCloseable target) target.close(); }
+
+    private Connection tracing(Connection target) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals": return proxy == args[0];
+                case "hashCode": return System.identityHashCode(proxy);
+                case "unwrap": if (((Class<?>) args[0]).isInstance(proxy)) return proxy; break;
+                case "isWrapperFor": if (((Class<?>) args[0]).isInstance(proxy)) return true; break;
+                default: break;
+            }
+            Object result = invoke(method, target, args);
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType()))
+                return timed(statement, method.getReturnType(), args != null && args.length > 0 && args[0] instanceof String sql ? sql : null);
+            return result;
+        });
+    }
+
+    private Object timed(Statement target, Class<?> type, String preparedSql) {
+        Map<Integer, Object> params = new TreeMap<>();
+        int[] batched = new int[1];
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+            String name = method.getName();
+            switch (name) {
+                case "equals": return proxy == args[0];
+                case "hashCode": return System.identityHashCode(proxy);
+                case "unwrap": if (((Class<?>) args[0]).isInstance(proxy)) return proxy; break;
+                case "isWrapperFor": if (((Class<?>) args[0]).isInstance(proxy)) return true; break;
+                case "clearParameters": params.clear(); break;
+                case "addBatch": batched[0]++; break;
+                default:
+                    if (logParameters && name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index)
+                        params.put(index, name.equals("setNull") ? null : args[1]);
+                    break;
+            }
+            if (!name.startsWith("execute")) return invoke(method, target, args);
+            long start = System.nanoTime();
+            try {
+                return invoke(method, target, args);
+            } finally {
+                long nanos = System.nanoTime() - start;
+                RequestStatements.record(nanos);
+                if (nanos >= slowNanos) {
+                    slowStatements.increment();
+                    String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+                    log.warn("Slow SQL ({} ms{}): {}{}", TimeUnit.NANOSECONDS.toMillis(nanos), batched[0] > 0 ? ", batch of " + batched[0] : "", sql,
+                            params.isEmpty() ? "" : " params=" + format(params));
+                }
+                if (name.contains("Batch")) batched[0] = 0;
+            }
+        });
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try { return method.invoke(target, args); }
+        catch (InvocationTargetException e) { throw e.getTargetException(); }
+    }
+
+    /** Describes each parameter as its type, plus the length of strings and byte arrays: {@code [1=String(12), 2=Long, 3=null]}. */
+    static String format(Map<Integer, Object> params) {
+        StringJoiner out = new StringJoiner(", ", "[", "]");
+        params.forEach((index, value) -> {
+            String text = value == null ? "null" : value.getClass().getSimpleName();
+            if (value instanceof CharSequence s) text += "(" + s.length() + ")";
+            else if (value instanceof byte[] bytes) text = "byte[" + bytes.length + "]";
+            out.add(index + "=" + text);
+        });
+        return out.toString();
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.demo.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.unit.DataSize;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary alternatives to JSON for internal callers: {@code Accept: application/cbor} or
+ * {@code application/x-jackson-smile} get the same documents in CBOR or Smile. Both mappers come from Boot's
+ * builder, so they share the JSON mapper's modules and {@code spring.jackson.*} settings. These beans replace the
+ * defaults Spring MVC would register with a bare builder; JSON stays first, so {@code *}{@code /*} still gets JSON.
+ * <p>
+ * Tomcat gzips responses above {@code server.compression.min-response-size}, but converters flush without a
+ * Content-Length, so it can't tell a 100-byte body from a large one. All three converters hold bodies below that
+ * size and send them with a length, which leaves them uncompressed; larger bodies stream as before.
+ * <p>
+ * Lazy associations serialize through Hibernate proxies, whose interceptor properties are hidden by one mixin on
+ * {@code Object} rather than an annotation on every entity.
+ */
+@Configuration(proxyBeanMethods = false)
+public class WireFormatConfig {
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+    private static final List<MediaType> PRODUCIBLE = List.of(MediaType.APPLICATION_JSON, SMILE, MediaType.APPLICATION_CBOR);
+
+    @Bean Jackson2ObjectMapperBuilderCustomizer hibernateProxyMixIn() { return builder -> builder.mixIn(Object.class, HibernateProxyFields.class); }
+
+    @Bean MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper mapper, @Value("${server.compression.min-response-size:2KB}") DataSize threshold) {
+        int limit = (int) threshold.toBytes();
+        return new MappingJackson2HttpMessageConverter(mapper) {
+            @Override protected void writeInternal(Object object, Type type, HttpOutputMessage message) throws IOException {
+                SmallBodyBuffer.write(message, limit, body -> super.writeInternal(object, type, body));
+            }
+        };
+    }
+
+    @Bean MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder, @Value("${server.compression.min-response-size:2KB}") DataSize threshold) {
+        int limit = (int) threshold.toBytes();
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build()) {
+            @Override protected void writeInternal(Object object, Type type, HttpOutputMessage message) throws IOException {
+                SmallBodyBuffer.write(message, limit, body -> super.writeInternal(object, type, body));
+            }
+        };
+    }
+
+    @Bean MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder, @Value("${server.compression.min-response-size:2KB}") DataSize threshold) {
+        int limit = (int) threshold.toBytes();
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build()) {
+            @Override protected void writeInternal(Object object, Type type, HttpOutputMessage message) throws IOException {
+                SmallBodyBuffer.write(message, limit, body -> super.writeInternal(object, type, body));
+            }
+        };
+    }
+
+    /**
+     * The format content negotiation will pick for an Accept header, as an ETag suffix: {@code ""} for JSON,
+     * {@code "smile"} or {@code "cbor"}. Mirrors Spring's choice for these three types (most specific and highest
+     * quality first, JSON on ties), so a 304 decided before the body is written stays correct.
+     */
+    public static String variant(String accept) {
+        if (accept == null || accept.isBlank()) return "";
+        List<MediaType> requested;
+        try { requested = new ArrayList<>(MediaType.parseMediaTypes(accept)); }
+        catch (InvalidMediaTypeException e) { return ""; }
+        MimeTypeUtils.sortBySpecificity(requested);
+        for (MediaType type : requested) {
+            if (type.getQualityValue() == 0) continue;
+            for (MediaType producible : PRODUCIBLE)
+                if (type.isCompatibleWith(producible)) return producible == MediaType.APPLICATION_JSON ? "" : producible == SMILE ? "smile" : "cbor";
+        }
+        return "";
+    }
+
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+    abstract static class HibernateProxyFields {}
+
+    private interface BodyWriter { void write(HttpOutputMessage message) throws IOException; }
+
+    /** Buffers up to {@code threshold} bytes; a body that ends within it gets a Content-Length, a larger one streams. */
+    private static final class SmallBodyBuffer extends OutputStream implements HttpOutputMessage {
+        private final HttpOutputMessage target;
+        private final int threshold;
+        private ByteArrayOutputStream pending = new ByteArrayOutputStream(256);
+        private OutputStream out;
+
+        private SmallBodyBuffer(HttpOutputMessage target, int threshold) { this.target = target; this.threshold = threshold; }
+
+        static void write(HttpOutputMessage target, int threshold, BodyWriter writer) throws IOException {
+            SmallBodyBuffer buffer = new SmallBodyBuffer(target, threshold);
+            writer.write(buffer);
+            if (buffer.out != null) return;
+            target.getHeaders().setContentLength(buffer.pending.size());
+            buffer.pending.writeTo(target.getBody());
+        }
+
+        @Override public HttpHeaders getHeaders() { return target.getHeaders(); }
+        @Override public OutputStream getBody() { return this; }
+        @Override public void write(int b) throws IOException { write(new byte[] { (byte) b }, 0, 1); }
+
+        @Override public void write(byte[] b, int off, int len) throws IOException {
+            if (out == null && pending.size() + len > threshold) { out = target.getBody(); pending.writeTo(out); pending = null; }
+            if (out != null) out.write(b, off, len); else pending.write(b, off, len);
+        }
+
+        @Override public void flush() throws IOException { if (out != null) out.flush(); }
+    }
+}
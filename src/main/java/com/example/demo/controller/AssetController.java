@@ -1,17 +1,63 @@
 package com.example.demo.controller;
+import com.example.demo.config.StatementBudget;
 import com.example.demo.entity.Asset;
+import com.example.demo.entity.DepreciationRule;
+import com.example.demo.entity.Vendor;
 import com.example.demo.service.AssetService;
+import com.example.demo.util.VersionStamps;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 @RestController @RequestMapping("/api/assets")
 public class AssetController {
+    static final String NDJSON = "application/x-ndjson", DEFAULT_LIMIT = "100";
     private final AssetService service;
-    public AssetController(AssetService service) { this.service = service; }
-    @PostMapping("/{vendorId}/{ruleId}") public ResponseEntity<Asset> create(@PathVariable Long vendorId, @PathVariable Long ruleId, @RequestBody Asset asset) {
+    private final ObjectMapper mapper;
+    public AssetController(AssetService service, ObjectMapper mapper) { this.service = service; this.mapper = mapper; }
+    @StatementBudget(3) @PostMapping("/{vendorId}/{ruleId}") public ResponseEntity<Asset> create(@PathVariable Long vendorId, @PathVariable Long ruleId, @RequestBody Asset asset) {
         return ResponseEntity.ok(service.createAsset(vendorId, ruleId, asset));
     }
-    @GetMapping public ResponseEntity<?> getAll() { return ResponseEntity.ok(service.getAllAssets()); }
-    @GetMapping("/{id}") public ResponseEntity<?> getById(@PathVariable Long id) { return ResponseEntity.ok(service.getAsset(id)); }
-    @GetMapping("/status/{status}") public ResponseEntity<?> getByStatus(@PathVariable String status) { return ResponseEntity.ok(service.getAssetsByStatus(status)); }
+    /** Lists, summaries included, are served a page at a time; {@code /stream} is the way to read the whole register. */
+    @StatementBudget(1) @GetMapping(params = "view=summary") public ResponseEntity<?> getSummaryPage(@RequestParam(required = false) Long afterId, @RequestParam(defaultValue = DEFAULT_LIMIT) int limit, WebRequest request) {
+        return ConditionalGet.respond(request, listEtag(), () -> service.getAssetSummaries(null, afterId, limit));
+    }
+    @StatementBudget(1) @GetMapping public ResponseEntity<?> getPage(@RequestParam(required = false) Long afterId, @RequestParam(defaultValue = DEFAULT_LIMIT) int limit, WebRequest request) {
+        return ConditionalGet.respond(request, listEtag(), () -> service.getAssetPage(null, afterId, limit));
+    }
+    @GetMapping(value = "/stream", produces = NDJSON) public ResponseEntity<StreamingResponseBody> streamAll() { return ndjson(null); }
+    @StatementBudget(1) @GetMapping("/{id}") public ResponseEntity<?> getById(@PathVariable Long id, WebRequest request) {
+        return ConditionalGet.respond(request, VersionStamps.etag(Asset.class, id, Vendor.class, DepreciationRule.class), () -> service.getAsset(id));
+    }
+    @GetMapping(value = "/status/{status}", params = "view=summary") public ResponseEntity<?> getSummaryPageByStatus(@PathVariable String status, @RequestParam(required = false) Long afterId, @RequestParam(defaultValue = DEFAULT_LIMIT) int limit, WebRequest request) {
+        return ConditionalGet.respond(request, listEtag(), () -> service.getAssetSummaries(status, afterId, limit));
+    }
+    @GetMapping("/vendor/{vendorId}") public ResponseEntity<?> getByVendor(@PathVariable Long vendorId, @RequestParam(required = false) Long afterId, @RequestParam(defaultValue = DEFAULT_LIMIT) int limit, WebRequest request) {
+        return ConditionalGet.respond(request, listEtag(), () -> service.getAssetSummariesByVendor(vendorId, afterId, limit));
+    }
+    @GetMapping("/status/{status}") public ResponseEntity<?> getPageByStatus(@PathVariable String status, @RequestParam(required = false) Long afterId, @RequestParam(defaultValue = DEFAULT_LIMIT) int limit, WebRequest request) {
+        return ConditionalGet.respond(request, listEtag(), () -> service.getAssetPage(status, afterId, limit));
+    }
+    @GetMapping(value = "/status/{status}/stream", produces = NDJSON) public ResponseEntity<StreamingResponseBody> streamByStatus(@PathVariable String status) { return ndjson(status); }
+
+    /** Asset rows embed their vendor and rule, so lists change when any of the three tables does. */
+    private static String listEtag() { return VersionStamps.etag(Asset.class, Vendor.class, DepreciationRule.class); }
+
+    private ResponseEntity<StreamingResponseBody> ndjson(String status) {
+        StreamingResponseBody body = out -> {
+            var writer = mapper.writer().withoutFeatures(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            try {
+                service.streamAssets(status, a -> {
+                    try { writer.writeValue(out, a); out.write('\n'); } catch (IOException e) { throw new UncheckedIOException(e); }
+                });
+            } catch (UncheckedIOException e) { throw e.getCause(); }
+            out.flush();
+        };
+        return ResponseEntity.ok().header("Content-Type", NDJSON).body(body);
+    }
 }
@@ -1,4 +1,7 @@
 package com.example.demo.controller;
+import com.example.demo.config.StatementBudget;
+import com.example.demo.dto.DisposalApprovalReport;
+import com.example.demo.dto.DisposalApprovalRequest;
 import com.example.demo.entity.AssetDisposal;
 import com.example.demo.service.AssetDisposalService;
 import org.springframework.http.ResponseEntity;
@@ -8,10 +11,13 @@ import org.springframework.web.bind.annotation.*;
 public class AssetDisposalController {
     private final AssetDisposalService service;
     public AssetDisposalController(AssetDisposalService service) { this.service = service; }
-    @PostMapping("/request/{assetId}") public ResponseEntity<AssetDisposal> request(@PathVariable Long assetId, @RequestBody AssetDisposal d) {
+    @StatementBudget(2) @PostMapping("/request/{assetId}") public ResponseEntity<AssetDisposal> request(@PathVariable Long assetId, @RequestBody AssetDisposal d) {
         return ResponseEntity.ok(service.requestDisposal(assetId, d));
     }
-    @PutMapping("/approve/{disposalId}/{adminId}") public ResponseEntity<?> approve(@PathVariable Long disposalId, @PathVariable Long adminId) {
+    @StatementBudget(5) @PutMapping("/approve/{disposalId}/{adminId}") public ResponseEntity<?> approve(@PathVariable Long disposalId, @PathVariable Long adminId) {
         return ResponseEntity.ok(service.approveDisposal(disposalId, adminId));
     }
+    @PostMapping("/approve/batch") public ResponseEntity<DisposalApprovalReport> approveBatch(@RequestBody DisposalApprovalRequest request) {
+        return ResponseEntity.ok(service.approveDisposals(request));
+    }
 }
@@ -0,0 +1,32 @@
+package com.example.demo.controller;
+import com.example.demo.dto.ExportReport;
+import com.example.demo.service.AssetExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.bind.annotation.*;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Locale;
+
+/** Written on the request thread rather than as a StreamingResponseBody, so a long export never hits the async timeout. */
+@RestController @RequestMapping("/api/assets/export")
+public class AssetExportController {
+    private final AssetExportService service;
+    public AssetExportController(AssetExportService service) { this.service = service; }
+    @GetMapping public void export(@RequestParam(defaultValue = "csv") String format, @RequestParam(required = false) Long fromId,
+                                   @RequestParam(required = false) Long toId, HttpServletResponse response) throws IOException {
+        ExportReport.Format parsed = parse(format);
+        if (fromId != null && toId != null && fromId > toId) throw new IllegalArgumentException("fromId must not exceed toId");
+        boolean csv = parsed == ExportReport.Format.CSV;
+        String range = (fromId == null ? "first" : fromId) + "-" + (toId == null ? "last" : toId);
+        response.setContentType(csv ? "application/gzip" : "application/octet-stream");
+        response.setHeader("Content-Disposition", "attachment; filename=\"assets-" + range + (csv ? ".csv.gz\"" : ".acol\""));
+        WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+        service.export(parsed, fromId, toId, out);
+    }
+
+    private static ExportReport.Format parse(String format) {
+        try { return ExportReport.Format.valueOf(format.toUpperCase(Locale.ROOT)); }
+        catch (IllegalArgumentException e) { throw new IllegalArgumentException("Unknown export format: " + format); }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.demo.controller;
+import com.example.demo.dto.AssetImportRow;
+import com.example.demo.dto.ImportReport;
+import com.example.demo.service.AssetImportService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+@RestController @RequestMapping("/api/assets/import")
+public class AssetImportController {
+    private final AssetImportService service;
+    public AssetImportController(AssetImportService service) { this.service = service; }
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE) public ResponseEntity<ImportReport> importJson(@RequestBody List<AssetImportRow> rows) {
+        return ResponseEntity.ok(service.importAssets(rows));
+    }
+    @PostMapping(consumes = "text/csv") public ResponseEntity<ImportReport> importCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(service.importCsv(body));
+    }
+    @PostMapping(value = "/csv", consumes = MediaType.MULTIPART_FORM_DATA_VALUE) public ResponseEntity<ImportReport> importCsvFile(@RequestParam("file") MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) { return ResponseEntity.ok(service.importCsv(in)); }
+    }
+}
@@ -1,15 +1,73 @@
 package com.example.demo.controller;
+import com.example.demo.config.StatementBudget;
+import com.example.demo.dto.EventFeedFilter;
+import com.example.demo.dto.FeedEvent;
 import com.example.demo.entity.AssetLifecycleEvent;
 import com.example.demo.service.AssetLifecycleEventService;
+import com.example.demo.service.EventFeedService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
 
 @RestController @RequestMapping("/api/events")
 public class AssetLifecycleEventController {
+    static final String NDJSON = "application/x-ndjson";
     private final AssetLifecycleEventService service;
-    public AssetLifecycleEventController(AssetLifecycleEventService service) { this.service = service; }
+    private final EventFeedService feed;
+    private final long feedTimeoutMs;
+    public AssetLifecycleEventController(AssetLifecycleEventService service, EventFeedService feed, @Value("${app.events.feed.timeout-ms:1800000}") long feedTimeoutMs) {
+        this.service = service; this.feed = feed; this.feedTimeoutMs = feedTimeoutMs;
+    }
     @PostMapping("/{assetId}") public ResponseEntity<AssetLifecycleEvent> create(@PathVariable Long assetId, @RequestBody AssetLifecycleEvent event) {
         return ResponseEntity.ok(service.logEvent(assetId, event));
     }
-    @GetMapping("/asset/{assetId}") public ResponseEntity<?> getByAsset(@PathVariable Long assetId) { return ResponseEntity.ok(service.getEvents(assetId)); }
+    @PostMapping("/{assetId}/async") public ResponseEntity<?> queue(@PathVariable Long assetId, @RequestBody AssetLifecycleEvent event) {
+        return ResponseEntity.accepted().body(Map.of("status", "QUEUED", "sequence", service.queueEvent(assetId, event)));
+    }
+    @StatementBudget(2) @GetMapping(value = "/asset/{assetId}", params = "view=summary") public ResponseEntity<?> getViewsByAsset(@PathVariable Long assetId) { return ResponseEntity.ok(service.getEventViews(assetId)); }
+    @StatementBudget(2) @GetMapping("/asset/{assetId}") public ResponseEntity<?> getByAsset(@PathVariable Long assetId) { return ResponseEntity.ok(service.getEvents(assetId)); }
+
+    /** Server-sent events; browsers reconnect with Last-Event-ID, which takes precedence over afterId. */
+    @GetMapping(value = "/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter feedSse(@RequestParam(required = false) Long assetId, @RequestParam(required = false) String eventType, @RequestParam(required = false) Long vendorId,
+                              @RequestParam(required = false) Long afterId, @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(feedTimeoutMs);
+        subscribe(emitter, new EventFeedFilter(assetId, eventType, vendorId), lastEventId != null ? lastEventId : afterId, new EventFeedService.Sink() {
+            public void send(FeedEvent e) throws IOException { emitter.send(SseEmitter.event().id(String.valueOf(e.id())).name("lifecycle").data(e, MediaType.APPLICATION_JSON)); }
+            public void heartbeat() throws IOException { emitter.send(SseEmitter.event().comment("keep-alive")); }
+            public void close(String reason) { emitter.complete(); }
+        });
+        return emitter;
+    }
+
+    /** One JSON event per line; blank lines are heartbeats. Resume by passing the last seen id as afterId. */
+    @GetMapping(value = "/feed", produces = NDJSON)
+    public ResponseEntity<ResponseBodyEmitter> feedNdjson(@RequestParam(required = false) Long assetId, @RequestParam(required = false) String eventType,
+                                                          @RequestParam(required = false) Long vendorId, @RequestParam(required = false) Long afterId) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(feedTimeoutMs);
+        subscribe(emitter, new EventFeedFilter(assetId, eventType, vendorId), afterId, new EventFeedService.Sink() {
+            public void send(FeedEvent e) throws IOException { emitter.send(e, MediaType.APPLICATION_JSON); emitter.send("\n", MediaType.TEXT_PLAIN); }
+            public void heartbeat() throws IOException { emitter.send("\n", MediaType.TEXT_PLAIN); }
+            public void close(String reason) { emitter.complete(); }
+        });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(emitter);
+    }
+
+    @GetMapping("/archive/stats") public ResponseEntity<?> archiveStats() { return ResponseEntity.ok(service.getArchiveStats()); }
+    @PostMapping("/archive") public ResponseEntity<?> archive() { return ResponseEntity.ok(Map.of("archived", service.archiveNow(), "stats", service.getArchiveStats())); }
+    @GetMapping("/feed/stats") public ResponseEntity<?> feedStats() { return ResponseEntity.ok(feed.getFeedStats()); }
+
+    private void subscribe(ResponseBodyEmitter emitter, EventFeedFilter filter, Long afterId, EventFeedService.Sink sink) {
+        try { sink.heartbeat(); } catch (IOException e) { throw new UncheckedIOException(e); }
+        EventFeedService.Subscription subscription = feed.subscribe(filter, afterId, sink);
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(e -> subscription.cancel());
+    }
 }
@@ -0,0 +1,14 @@
+package com.example.demo.controller;
+import com.example.demo.service.AssetSearchService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+
+@RestController @RequestMapping("/api/assets/search")
+public class AssetSearchController {
+    private final AssetSearchService service;
+    public AssetSearchController(AssetSearchService service) { this.service = service; }
+    @GetMapping public ResponseEntity<List<Long>> search(@RequestParam String q, @RequestParam(defaultValue = "20") int limit) { return ResponseEntity.ok(service.search(q, limit)); }
+    @GetMapping("/stats") public ResponseEntity<?> stats() { return ResponseEntity.ok(service.getStats()); }
+    @PostMapping("/rebuild") public ResponseEntity<?> rebuild() { service.rebuild(); return ResponseEntity.ok(service.getStats()); }
+}
@@ -0,0 +1,12 @@
+package com.example.demo.controller;
+import com.example.demo.service.AssetStatsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController @RequestMapping("/api/assets/stats")
+public class AssetStatsController {
+    private final AssetStatsService service;
+    public AssetStatsController(AssetStatsService service) { this.service = service; }
+    @GetMapping public ResponseEntity<?> summary() { return ResponseEntity.ok(service.getSummary()); }
+    @PostMapping("/reconcile") public ResponseEntity<?> reconcile() { service.reconcile(); return ResponseEntity.ok(service.getSummary()); }
+}
@@ -3,32 +3,25 @@ package com.example.demo.controller;
 import com.example.demo.dto.AuthRequest;
 import com.example.demo.dto.AuthResponse;
 import com.example.demo.entity.User;
-import com.example.demo.repository.UserRepository;
+import com.example.demo.exception.ServiceBusyException;
+import com.example.demo.service.AuthService;
 import com.example.demo.service.UserService;
-import com.example.demo.util.JwtUtil;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
 
 @RestController
 @RequestMapping("/auth")
 public class AuthController {
-    private final AuthenticationManager authManager;
-    private final JwtUtil jwtUtil;
+    private final AuthService authService;
     private final UserService userService;
-    private final UserRepository userRepo;
 
-    public AuthController(AuthenticationManager authManager, JwtUtil jwtUtil, 
-                         UserService userService, UserRepository userRepo) {
-        this.authManager = authManager;
-        this.jwtUtil = jwtUtil;
+    public AuthController(AuthService authService, UserService userService) {
+        this.authService = authService;
         this.userService = userService;
-        this.userRepo = userRepo;
     }
 
     @PostMapping("/register")
@@ -46,28 +39,24 @@ public class AuthController {
             response.put("email", user.getEmail());
             response.put("name", user.getName());
             return ResponseEntity.ok(response);
+        } catch (ServiceBusyException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(Collections.singletonMap("error", e.getMessage()));
         }
     }
 
+    /** Completes off the request thread once the password check on the hashing pool finishes. */
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody AuthRequest req) {
-        try {
-            Authentication authentication = authManager.authenticate(
-                new UsernamePasswordAuthenticationToken(req.getEmail(), req.getPassword())
-            );
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-            User user = userRepo.findByEmail(req.getEmail()).orElseThrow();
-            Set<String> roles = user.getRoles().stream()
-                .map(r -> r.getName())
-                .collect(Collectors.toSet());
-            String token = jwtUtil.generateToken(user.getEmail(), user.getId(), roles);
-            return ResponseEntity.ok(new AuthResponse(token, user.getId(), user.getEmail(), roles));
-        } catch (Exception e) {
-            return ResponseEntity.status(401)
-                .body(Collections.singletonMap("error", "Invalid credentials"));
-        }
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody AuthRequest req) {
+        return authService.login(req.getEmail(), req.getPassword())
+            .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+            .exceptionally(e -> {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                if (cause instanceof ServiceBusyException || cause instanceof TimeoutException)
+                    return ResponseEntity.status(503).header("Retry-After", "1").body(Collections.singletonMap("error", "Login is busy, retry shortly"));
+                return ResponseEntity.status(401).body(Collections.singletonMap("error", "Invalid credentials"));
+            });
     }
 }
@@ -0,0 +1,46 @@
+package com.example.demo.controller;
+import com.example.demo.util.JwtUtil;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController @RequestMapping("/api/cache-stats")
+public class CacheStatsController {
+    private final JwtUtil jwtUtil;
+    private final SessionFactory sessionFactory;
+    public CacheStatsController(JwtUtil jwtUtil, EntityManagerFactory emf) { this.jwtUtil = jwtUtil; this.sessionFactory = emf.unwrap(SessionFactory.class); }
+    @GetMapping("/jwt") public ResponseEntity<Map<String, Object>> jwt() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", jwtUtil.getCacheHits());
+        stats.put("misses", jwtUtil.getCacheMisses());
+        stats.put("size", jwtUtil.getCacheSize());
+        return ResponseEntity.ok(stats);
+    }
+    @GetMapping("/hibernate") public ResponseEntity<Map<String, Object>> hibernate() {
+        Statistics s = sessionFactory.getStatistics();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("secondLevelHits", s.getSecondLevelCacheHitCount());
+        stats.put("secondLevelMisses", s.getSecondLevelCacheMissCount());
+        stats.put("secondLevelPuts", s.getSecondLevelCachePutCount());
+        stats.put("queryCacheHits", s.getQueryCacheHitCount());
+        stats.put("queryCacheMisses", s.getQueryCacheMissCount());
+        stats.put("queryCachePuts", s.getQueryCachePutCount());
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String name : s.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics r = s.getDomainDataRegionStatistics(name);
+            if (r == null) continue;
+            regions.put(name, Map.of("hits", r.getHitCount(), "misses", r.getMissCount(), "puts", r.getPutCount()));
+        }
+        stats.put("regions", regions);
+        return ResponseEntity.ok(stats);
+    }
+    @DeleteMapping("/hibernate") public ResponseEntity<Void> evictHibernate() {
+        sessionFactory.getCache().evictAllRegions();
+        return ResponseEntity.noContent().build();
+    }
+}
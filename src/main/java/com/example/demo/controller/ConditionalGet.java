@@ -0,0 +1,39 @@
+package com.example.demo.controller;
+import com.example.demo.config.WireFormatConfig;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import java.util.function.Supplier;
+
+/**
+ * Answers If-None-Match from a precomputed ETag before the body is loaded. Responses are marked no-cache so
+ * browsers keep them and revalidate instead of Spring Security's default no-store. JSON, Smile and CBOR bodies
+ * differ byte for byte, so the ETag carries the negotiated format and responses vary by Accept. The header is sent
+ * as a weak validator: gzip'd and identity bodies are only semantically equal, and Tomcat won't compress a response
+ * with a strong ETag.
+ */
+final class ConditionalGet {
+    private ConditionalGet() {}
+    static ResponseEntity<?> respond(WebRequest request, String stamp, Supplier<?> body) {
+        String variant = WireFormatConfig.variant(request.getHeader(HttpHeaders.ACCEPT));
+        String etag = variant.isEmpty() ? stamp : stamp.substring(0, stamp.length() - 1) + "-" + variant + "\"";
+        String header = "W/" + etag;
+        if (matches(request.getHeaderValues(HttpHeaders.IF_NONE_MATCH), etag))
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(header).varyBy(HttpHeaders.ACCEPT).cacheControl(CacheControl.noCache().cachePrivate()).build();
+        Object result = body.get();
+        return ResponseEntity.ok().eTag(header).varyBy(HttpHeaders.ACCEPT).cacheControl(CacheControl.noCache().cachePrivate()).body(result);
+    }
+
+    /** If-None-Match uses weak comparison, so a tag matches with or without its W/ prefix. */
+    private static boolean matches(String[] headers, String etag) {
+        if (headers == null) return false;
+        for (String header : headers)
+            for (String candidate : header.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(etag)) return true;
+            }
+        return false;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.demo.controller;
+import com.example.demo.service.DepreciationService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.time.LocalDate;
+
+@RestController @RequestMapping("/api/depreciation")
+public class DepreciationController {
+    private final DepreciationService service;
+    public DepreciationController(DepreciationService service) { this.service = service; }
+    @GetMapping("/asset/{assetId}") public ResponseEntity<?> value(@PathVariable Long assetId, @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        return ResponseEntity.ok(service.valueAsset(assetId, asOf));
+    }
+    @GetMapping("/asset/{assetId}/schedule") public ResponseEntity<?> schedule(@PathVariable Long assetId) { return ResponseEntity.ok(service.getSchedule(assetId)); }
+    @GetMapping("/portfolio") public ResponseEntity<?> portfolio(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        return ResponseEntity.ok(service.valuePortfolio(asOf));
+    }
+    @GetMapping("/history") public ResponseEntity<?> history(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf, @RequestParam(required = false) Long vendorId) {
+        return ResponseEntity.ok(service.valueHistorical(asOf, vendorId));
+    }
+    @GetMapping("/checkpoints") public ResponseEntity<?> checkpoints() { return ResponseEntity.ok(service.getCheckpoints()); }
+    @PostMapping("/checkpoints") public ResponseEntity<?> checkpoint() { return ResponseEntity.ok(service.checkpointNow()); }
+}
@@ -1,13 +1,16 @@
 package com.example.demo.controller;
+import com.example.demo.config.StatementBudget;
 import com.example.demo.entity.DepreciationRule;
 import com.example.demo.service.DepreciationRuleService;
+import com.example.demo.util.VersionStamps;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController @RequestMapping("/api/rules")
 public class DepreciationRuleController {
     private final DepreciationRuleService service;
     public DepreciationRuleController(DepreciationRuleService service) { this.service = service; }
     @PostMapping public ResponseEntity<DepreciationRule> create(@RequestBody DepreciationRule r) { return ResponseEntity.ok(service.createRule(r)); }
-    @GetMapping public ResponseEntity<?> getAll() { return ResponseEntity.ok(service.getAllRules()); }
+    @StatementBudget(1) @GetMapping public ResponseEntity<?> getAll(WebRequest request) { return ConditionalGet.respond(request, VersionStamps.etag(DepreciationRule.class), service::getAllRules); }
 }
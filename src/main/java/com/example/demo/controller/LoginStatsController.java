@@ -0,0 +1,11 @@
+package com.example.demo.controller;
+import com.example.demo.service.AuthService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController @RequestMapping("/api/login-stats")
+public class LoginStatsController {
+    private final AuthService authService;
+    public LoginStatsController(AuthService authService) { this.authService = authService; }
+    @GetMapping public ResponseEntity<?> stats() { return ResponseEntity.ok(authService.getLoginStats()); }
+}
@@ -1,14 +1,19 @@
 package com.example.demo.controller;
+import com.example.demo.config.StatementBudget;
 import com.example.demo.entity.Vendor;
 import com.example.demo.service.VendorService;
+import com.example.demo.util.VersionStamps;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController @RequestMapping("/api/vendors")
 public class VendorController {
     private final VendorService service;
     public VendorController(VendorService service) { this.service = service; }
     @PostMapping public ResponseEntity<Vendor> create(@RequestBody Vendor v) { return ResponseEntity.ok(service.createVendor(v)); }
-    @GetMapping public ResponseEntity<?> getAll() { return ResponseEntity.ok(service.getAllVendors()); }
-    @GetMapping("/{id}") public ResponseEntity<?> getById(@PathVariable Long id) { return ResponseEntity.ok(service.getVendor(id)); }
+    @StatementBudget(1) @GetMapping public ResponseEntity<?> getAll(WebRequest request) { return ConditionalGet.respond(request, VersionStamps.etag(Vendor.class), service::getAllVendors); }
+    @GetMapping("/{id}") public ResponseEntity<?> getById(@PathVariable Long id, WebRequest request) {
+        return ConditionalGet.respond(request, VersionStamps.etag(Vendor.class, id), () -> service.getVendor(id));
+    }
 }
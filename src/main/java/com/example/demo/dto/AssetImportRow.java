@@ -0,0 +1,14 @@
+package com.example.demo.dto;
+import java.time.LocalDate;
+public class AssetImportRow {
+    private String assetTag; private String assetName; private Long vendorId; private Long ruleId;
+    private LocalDate purchaseDate; private Double purchaseCost; private String status;
+    public AssetImportRow() {}
+    public String getAssetTag() { return assetTag; } public void setAssetTag(String assetTag) { this.assetTag = assetTag; }
+    public String getAssetName() { return assetName; } public void setAssetName(String assetName) { this.assetName = assetName; }
+    public Long getVendorId() { return vendorId; } public void setVendorId(Long vendorId) { this.vendorId = vendorId; }
+    public Long getRuleId() { return ruleId; } public void setRuleId(Long ruleId) { this.ruleId = ruleId; }
+    public LocalDate getPurchaseDate() { return purchaseDate; } public void setPurchaseDate(LocalDate purchaseDate) { this.purchaseDate = purchaseDate; }
+    public Double getPurchaseCost() { return purchaseCost; } public void setPurchaseCost(Double purchaseCost) { this.purchaseCost = purchaseCost; }
+    public String getStatus() { return status; } public void setStatus(String status) { this.status = status; }
+}
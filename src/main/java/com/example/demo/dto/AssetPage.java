@@ -0,0 +1,9 @@
+package com.example.demo.dto;
+import com.example.demo.entity.Asset;
+import java.util.List;
+public class AssetPage {
+    private List<Asset> items; private Long nextCursor;
+    public AssetPage(List<Asset> items, Long nextCursor) { this.items = items; this.nextCursor = nextCursor; }
+    public List<Asset> getItems() { return items; } public void setItems(List<Asset> items) { this.items = items; }
+    public Long getNextCursor() { return nextCursor; } public void setNextCursor(Long nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,4 @@
+package com.example.demo.dto;
+import java.time.LocalDate;
+public record AssetSummary(Long id, String assetTag, String assetName, String status, LocalDate purchaseDate, Double purchaseCost,
+                           Long vendorId, String vendorName, Long ruleId, String ruleName) {}
@@ -0,0 +1,3 @@
+package com.example.demo.dto;
+import java.util.List;
+public record AssetSummaryPage(List<AssetSummary> items, Long nextCursor) {}
@@ -0,0 +1,13 @@
+package com.example.demo.dto;
+import java.time.LocalDate;
+public class AssetValuation {
+    private Long assetId; private LocalDate asOf; private Double purchaseCost; private Double accumulatedDepreciation; private Double bookValue;
+    public AssetValuation(Long assetId, LocalDate asOf, Double purchaseCost, Double accumulatedDepreciation, Double bookValue) {
+        this.assetId = assetId; this.asOf = asOf; this.purchaseCost = purchaseCost; this.accumulatedDepreciation = accumulatedDepreciation; this.bookValue = bookValue;
+    }
+    public Long getAssetId() { return assetId; } public void setAssetId(Long assetId) { this.assetId = assetId; }
+    public LocalDate getAsOf() { return asOf; } public void setAsOf(LocalDate asOf) { this.asOf = asOf; }
+    public Double getPurchaseCost() { return purchaseCost; } public void setPurchaseCost(Double purchaseCost) { this.purchaseCost = purchaseCost; }
+    public Double getAccumulatedDepreciation() { return accumulatedDepreciation; } public void setAccumulatedDepreciation(Double accumulatedDepreciation) { this.accumulatedDepreciation = accumulatedDepreciation; }
+    public Double getBookValue() { return bookValue; } public void setBookValue(Double bookValue) { this.bookValue = bookValue; }
+}
@@ -0,0 +1,13 @@
+package com.example.demo.dto;
+import java.time.LocalDate;
+public class DepreciationPeriod {
+    private Integer period; private LocalDate periodStart; private Double openingValue; private Double depreciation; private Double closingValue;
+    public DepreciationPeriod(Integer period, LocalDate periodStart, Double openingValue, Double depreciation, Double closingValue) {
+        this.period = period; this.periodStart = periodStart; this.openingValue = openingValue; this.depreciation = depreciation; this.closingValue = closingValue;
+    }
+    public Integer getPeriod() { return period; } public void setPeriod(Integer period) { this.period = period; }
+    public LocalDate getPeriodStart() { return periodStart; } public void setPeriodStart(LocalDate periodStart) { this.periodStart = periodStart; }
+    public Double getOpeningValue() { return openingValue; } public void setOpeningValue(Double openingValue) { this.openingValue = openingValue; }
+    public Double getDepreciation() { return depreciation; } public void setDepreciation(Double depreciation) { this.depreciation = depreciation; }
+    public Double getClosingValue() { return closingValue; } public void setClosingValue(Double closingValue) { this.closingValue = closingValue; }
+}
@@ -0,0 +1,27 @@
+package com.example.demo.dto;
+import java.util.ArrayList;
+import java.util.List;
+public class DisposalApprovalReport {
+    public enum Outcome { APPROVED, CONFLICT, ALREADY_APPROVED, NOT_FOUND }
+    private int received; private int approved; private List<ItemResult> results = new ArrayList<>();
+    public int getReceived() { return received; } public void setReceived(int received) { this.received = received; }
+    public int getApproved() { return approved; } public void setApproved(int approved) { this.approved = approved; }
+    public int getRejected() { return results.size() - approved; }
+    public List<ItemResult> getResults() { return results; } public void setResults(List<ItemResult> results) { this.results = results; }
+    public void add(Long disposalId, Long assetId, Outcome outcome, Long version, String message) {
+        results.add(new ItemResult(disposalId, assetId, outcome, version, message));
+        if (outcome == Outcome.APPROVED) approved++;
+    }
+
+    public static class ItemResult {
+        private Long disposalId; private Long assetId; private Outcome outcome; private Long version; private String message;
+        public ItemResult(Long disposalId, Long assetId, Outcome outcome, Long version, String message) {
+            this.disposalId = disposalId; this.assetId = assetId; this.outcome = outcome; this.version = version; this.message = message;
+        }
+        public Long getDisposalId() { return disposalId; } public void setDisposalId(Long disposalId) { this.disposalId = disposalId; }
+        public Long getAssetId() { return assetId; } public void setAssetId(Long assetId) { this.assetId = assetId; }
+        public Outcome getOutcome() { return outcome; } public void setOutcome(Outcome outcome) { this.outcome = outcome; }
+        public Long getVersion() { return version; } public void setVersion(Long version) { this.version = version; }
+        public String getMessage() { return message; } public void setMessage(String message) { this.message = message; }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.demo.dto;
+import java.util.ArrayList;
+import java.util.List;
+public class DisposalApprovalRequest {
+    private Long adminId; private List<Item> items = new ArrayList<>();
+    public Long getAdminId() { return adminId; } public void setAdminId(Long adminId) { this.adminId = adminId; }
+    public List<Item> getItems() { return items; } public void setItems(List<Item> items) { this.items = items; }
+
+    /** {@code version} is the disposal version the caller last saw; omit it to approve whatever is current. */
+    public static class Item {
+        private Long disposalId; private Long version;
+        public Long getDisposalId() { return disposalId; } public void setDisposalId(Long disposalId) { this.disposalId = disposalId; }
+        public Long getVersion() { return version; } public void setVersion(Long version) { this.version = version; }
+    }
+}
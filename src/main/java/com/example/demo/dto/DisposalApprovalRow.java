@@ -0,0 +1,3 @@
+package com.example.demo.dto;
+public record DisposalApprovalRow(Long disposalId, Long disposalVersion, Long approvedById, Long assetId, Long assetVersion, String assetStatus,
+                                  Long vendorId, Double purchaseCost) {}
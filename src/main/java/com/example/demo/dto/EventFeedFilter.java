@@ -0,0 +1,7 @@
+package com.example.demo.dto;
+public record EventFeedFilter(Long assetId, String eventType, Long vendorId) {
+    public boolean matches(FeedEvent e) {
+        return (assetId == null || assetId.equals(e.assetId())) && (eventType == null || eventType.equals(e.eventType()))
+            && (vendorId == null || vendorId.equals(e.vendorId()));
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.demo.dto;
+public class ExportReport {
+    public enum Format { CSV, COLUMNAR }
+    private Format format; private long fromId; private long toId; private long rows; private Long firstId; private Long lastId; private String file;
+    public ExportReport(Format format, long fromId, long toId) { this.format = format; this.fromId = fromId; this.toId = toId; }
+    public Format getFormat() { return format; } public void setFormat(Format format) { this.format = format; }
+    public long getFromId() { return fromId; } public void setFromId(long fromId) { this.fromId = fromId; }
+    public long getToId() { return toId; } public void setToId(long toId) { this.toId = toId; }
+    public long getRows() { return rows; } public void setRows(long rows) { this.rows = rows; }
+    public Long getFirstId() { return firstId; } public void setFirstId(Long firstId) { this.firstId = firstId; }
+    public Long getLastId() { return lastId; } public void setLastId(Long lastId) { this.lastId = lastId; }
+    public String getFile() { return file; } public void setFile(String file) { this.file = file; }
+    public void addRow(long id) { if (firstId == null) firstId = id; lastId = id; rows++; }
+}
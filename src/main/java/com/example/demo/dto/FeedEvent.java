@@ -0,0 +1,4 @@
+package com.example.demo.dto;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+public record FeedEvent(Long id, Long assetId, String assetTag, Long vendorId, String eventType, String eventDescription, LocalDate eventDate, LocalDateTime loggedAt) {}
@@ -0,0 +1,18 @@
+package com.example.demo.dto;
+import java.time.LocalDate;
+public class HistoricalValuation {
+    private LocalDate asOf; private Long vendorId; private Integer assetCount; private Double totalCost; private Double accumulatedDepreciation; private Double bookValue;
+    private LocalDate checkpoint; private Integer replayedRows;
+    public HistoricalValuation(LocalDate asOf, Long vendorId, Integer assetCount, Double totalCost, Double accumulatedDepreciation, Double bookValue, LocalDate checkpoint, Integer replayedRows) {
+        this.asOf = asOf; this.vendorId = vendorId; this.assetCount = assetCount; this.totalCost = totalCost; this.accumulatedDepreciation = accumulatedDepreciation; this.bookValue = bookValue;
+        this.checkpoint = checkpoint; this.replayedRows = replayedRows;
+    }
+    public LocalDate getAsOf() { return asOf; } public void setAsOf(LocalDate asOf) { this.asOf = asOf; }
+    public Long getVendorId() { return vendorId; } public void setVendorId(Long vendorId) { this.vendorId = vendorId; }
+    public Integer getAssetCount() { return assetCount; } public void setAssetCount(Integer assetCount) { this.assetCount = assetCount; }
+    public Double getTotalCost() { return totalCost; } public void setTotalCost(Double totalCost) { this.totalCost = totalCost; }
+    public Double getAccumulatedDepreciation() { return accumulatedDepreciation; } public void setAccumulatedDepreciation(Double accumulatedDepreciation) { this.accumulatedDepreciation = accumulatedDepreciation; }
+    public Double getBookValue() { return bookValue; } public void setBookValue(Double bookValue) { this.bookValue = bookValue; }
+    public LocalDate getCheckpoint() { return checkpoint; } public void setCheckpoint(LocalDate checkpoint) { this.checkpoint = checkpoint; }
+    public Integer getReplayedRows() { return replayedRows; } public void setReplayedRows(Integer replayedRows) { this.replayedRows = replayedRows; }
+}
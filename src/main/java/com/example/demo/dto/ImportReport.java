@@ -0,0 +1,19 @@
+package com.example.demo.dto;
+import java.util.ArrayList;
+import java.util.List;
+public class ImportReport {
+    private int received; private int imported; private List<RowError> errors = new ArrayList<>();
+    public int getReceived() { return received; } public void setReceived(int received) { this.received = received; }
+    public int getImported() { return imported; } public void setImported(int imported) { this.imported = imported; }
+    public int getFailed() { return errors.size(); }
+    public List<RowError> getErrors() { return errors; } public void setErrors(List<RowError> errors) { this.errors = errors; }
+    public void addError(int row, String assetTag, String message) { errors.add(new RowError(row, assetTag, message)); }
+
+    public static class RowError {
+        private int row; private String assetTag; private String message;
+        public RowError(int row, String assetTag, String message) { this.row = row; this.assetTag = assetTag; this.message = message; }
+        public int getRow() { return row; } public void setRow(int row) { this.row = row; }
+        public String getAssetTag() { return assetTag; } public void setAssetTag(String assetTag) { this.assetTag = assetTag; }
+        public String getMessage() { return message; } public void setMessage(String message) { this.message = message; }
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.demo.dto;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+public record LifecycleEventView(Long id, Long assetId, String assetTag, String eventType, String eventDescription, LocalDate eventDate, LocalDateTime loggedAt) {}
@@ -0,0 +1,18 @@
+package com.example.demo.dto;
+import java.time.LocalDate;
+import java.util.List;
+public class PortfolioValuation {
+    private LocalDate asOf; private Integer assetCount; private Double totalCost; private Double accumulatedDepreciation; private Double bookValue;
+    /** Rules whose method is not recognised; their assets are valued at cost. */
+    private List<Long> skippedRuleIds;
+    public PortfolioValuation(LocalDate asOf, Integer assetCount, Double totalCost, Double accumulatedDepreciation, Double bookValue, List<Long> skippedRuleIds) {
+        this.asOf = asOf; this.assetCount = assetCount; this.totalCost = totalCost; this.accumulatedDepreciation = accumulatedDepreciation; this.bookValue = bookValue;
+        this.skippedRuleIds = skippedRuleIds;
+    }
+    public LocalDate getAsOf() { return asOf; } public void setAsOf(LocalDate asOf) { this.asOf = asOf; }
+    public Integer getAssetCount() { return assetCount; } public void setAssetCount(Integer assetCount) { this.assetCount = assetCount; }
+    public Double getTotalCost() { return totalCost; } public void setTotalCost(Double totalCost) { this.totalCost = totalCost; }
+    public Double getAccumulatedDepreciation() { return accumulatedDepreciation; } public void setAccumulatedDepreciation(Double accumulatedDepreciation) { this.accumulatedDepreciation = accumulatedDepreciation; }
+    public Double getBookValue() { return bookValue; } public void setBookValue(Double bookValue) { this.bookValue = bookValue; }
+    public List<Long> getSkippedRuleIds() { return skippedRuleIds; } public void setSkippedRuleIds(List<Long> skippedRuleIds) { this.skippedRuleIds = skippedRuleIds; }
+}
@@ -1,5 +1,7 @@
 package com.example.demo.entity;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -8,12 +10,13 @@ public class Asset {
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY) private Long id;
     @Column(unique = true, nullable = false) private String assetTag;
     private String assetName;
-    @ManyToOne private Vendor vendor;
+    @ManyToOne(fetch = FetchType.LAZY) private Vendor vendor;
     private LocalDate purchaseDate;
     private Double purchaseCost;
-    @ManyToOne private DepreciationRule depreciationRule;
+    @ManyToOne(fetch = FetchType.LAZY) private DepreciationRule depreciationRule;
     private String status = "ACTIVE";
     private LocalDateTime createdAt;
+    @Version @ColumnDefault("0") @Column(nullable = false) @JsonProperty(access = JsonProperty.Access.READ_ONLY) private Long version;
     public Asset() {}
     @PrePersist public void prePersist() { this.createdAt = LocalDateTime.now(); if(status==null) status="ACTIVE"; }
     public Long getId() { return id; }
@@ -33,4 +36,5 @@ public class Asset {
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
     public LocalDateTime getCreatedAt() { return createdAt; }
+    public Long getVersion() { return version; }
 }
@@ -1,17 +1,20 @@
 package com.example.demo.entity;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity @Table(name = "asset_disposals")
 public class AssetDisposal {
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY) private Long id;
-    @OneToOne private Asset asset;
+    @OneToOne(fetch = FetchType.LAZY) private Asset asset;
     private String disposalMethod;
     private Double disposalValue;
     private LocalDate disposalDate;
-    @ManyToOne private User approvedBy;
+    @ManyToOne(fetch = FetchType.LAZY) private User approvedBy;
     private LocalDateTime createdAt;
+    @Version @ColumnDefault("0") @Column(nullable = false) @JsonProperty(access = JsonProperty.Access.READ_ONLY) private Long version;
     public AssetDisposal() {}
     @PrePersist public void prePersist() { this.createdAt = LocalDateTime.now(); }
     public Long getId() { return id; }
@@ -27,4 +30,5 @@ public class AssetDisposal {
     public User getApprovedBy() { return approvedBy; }
     public void setApprovedBy(User approvedBy) { this.approvedBy = approvedBy; }
     public LocalDateTime getCreatedAt() { return createdAt; }
+    public Long getVersion() { return version; }
 }
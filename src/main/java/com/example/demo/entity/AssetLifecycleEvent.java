@@ -6,7 +6,7 @@ import java.time.LocalDateTime;
 @Entity @Table(name = "asset_lifecycle_events")
 public class AssetLifecycleEvent {
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY) private Long id;
-    @ManyToOne private Asset asset;
+    @ManyToOne(fetch = FetchType.LAZY) private Asset asset;
     private String eventType;
     private String eventDescription;
     private LocalDate eventDate;
@@ -24,4 +24,5 @@ public class AssetLifecycleEvent {
     public LocalDate getEventDate() { return eventDate; }
     public void setEventDate(LocalDate eventDate) { this.eventDate = eventDate; }
     public LocalDateTime getLoggedAt() { return loggedAt; }
+    public void setLoggedAt(LocalDateTime loggedAt) { this.loggedAt = loggedAt; }
 }
@@ -1,7 +1,10 @@
 package com.example.demo.entity;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
+@Cacheable @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Entity @Table(name = "vendors")
 public class Vendor {
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY) private Long id;
@@ -1,8 +1,36 @@
 package com.example.demo.repository;
+import com.example.demo.dto.DisposalApprovalRow;
 import com.example.demo.entity.AssetDisposal;
 import com.example.demo.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 public interface AssetDisposalRepository extends JpaRepository<AssetDisposal, Long> {
-    List<AssetDisposal> findByApprovedBy(User approvedBy);
+    @Override @EntityGraph(attributePaths = {"asset", "asset.vendor", "asset.depreciationRule"}) Optional<AssetDisposal> findById(Long id);
+    @EntityGraph(attributePaths = {"asset"}) List<AssetDisposal> findByApprovedBy(User approvedBy);
+
+    /** Locks the disposals and their assets for the rest of the batch transaction. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select new com.example.demo.dto.DisposalApprovalRow(d.id, d.version, d.approvedBy.id, a.id, a.version, a.status, a.vendor.id, a.purchaseCost) "
+         + "from AssetDisposal d join d.asset a where d.id in :ids")
+    List<DisposalApprovalRow> lockApprovalRows(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update AssetDisposal d set d.approvedBy = :admin, d.version = d.version + 1 where d.id in :ids and d.approvedBy is null")
+    int approveAll(@Param("ids") Collection<Long> ids, @Param("admin") User admin);
+
+    /** Records approvals in the lifecycle log so the event feed carries them in commit order with everything else. */
+    @Modifying(flushAutomatically = true)
+    @Query("insert into AssetLifecycleEvent (asset, eventType, eventDescription, eventDate, loggedAt) "
+         + "select d.asset, :eventType, concat('Disposal ', d.id, ' approved'), :date, :now from AssetDisposal d where d.id in :ids")
+    int insertApprovalEvents(@Param("ids") Collection<Long> ids, @Param("eventType") String eventType, @Param("date") LocalDate date, @Param("now") LocalDateTime now);
 }
@@ -1,7 +1,31 @@
 package com.example.demo.repository;
+import com.example.demo.dto.FeedEvent;
+import com.example.demo.dto.LifecycleEventView;
 import com.example.demo.entity.AssetLifecycleEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
 import java.util.List;
 public interface AssetLifecycleEventRepository extends JpaRepository<AssetLifecycleEvent, Long> {
+    @EntityGraph(attributePaths = {"asset", "asset.vendor", "asset.depreciationRule"})
     List<AssetLifecycleEvent> findByAssetIdOrderByEventDateDesc(Long assetId);
+    @Query("select new com.example.demo.dto.LifecycleEventView(e.id, a.id, a.assetTag, e.eventType, e.eventDescription, e.eventDate, e.loggedAt) from AssetLifecycleEvent e join e.asset a where a.id = :assetId order by e.eventDate desc")
+    List<LifecycleEventView> findViewsByAssetId(@Param("assetId") Long assetId);
+    /** The feed tails ids and treats a missing id as uncommitted, so it reads the primary (read-write transaction) rather than a lagging replica. */
+    @Transactional
+    @Query("select new com.example.demo.dto.FeedEvent(e.id, a.id, a.assetTag, a.vendor.id, e.eventType, e.eventDescription, e.eventDate, e.loggedAt) "
+         + "from AssetLifecycleEvent e join e.asset a where e.id > :afterId and e.id <= :upTo and (:assetId is null or a.id = :assetId) "
+         + "and (:eventType is null or e.eventType = :eventType) and (:vendorId is null or a.vendor.id = :vendorId) order by e.id")
+    List<FeedEvent> findFeed(@Param("afterId") long afterId, @Param("upTo") long upTo, @Param("assetId") Long assetId,
+                             @Param("eventType") String eventType, @Param("vendorId") Long vendorId, Pageable page);
+    /** Re-reads ids the feed passed over, in case their inserts have committed since. */
+    @Transactional
+    @Query("select new com.example.demo.dto.FeedEvent(e.id, a.id, a.assetTag, a.vendor.id, e.eventType, e.eventDescription, e.eventDate, e.loggedAt) "
+         + "from AssetLifecycleEvent e join e.asset a where e.id in :ids order by e.id")
+    List<FeedEvent> findFeedByIds(@Param("ids") Collection<Long> ids);
+    @Transactional @Query("select coalesce(max(e.id), 0) from AssetLifecycleEvent e") long findMaxId();
 }
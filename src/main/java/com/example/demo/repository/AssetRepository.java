@@ -1,10 +1,64 @@
 package com.example.demo.repository;
+import com.example.demo.dto.AssetSummary;
 import com.example.demo.entity.Asset;
 import com.example.demo.entity.Vendor;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 public interface AssetRepository extends JpaRepository<Asset, Long> {
+    String STREAM_FETCH_SIZE = "500";
+    String SUMMARY = "select new com.example.demo.dto.AssetSummary(a.id, a.assetTag, a.assetName, a.status, a.purchaseDate, a.purchaseCost, v.id, v.vendorName, r.id, r.ruleName) from Asset a left join a.vendor v left join a.depreciationRule r";
     boolean existsByAssetTag(String assetTag);
-    List<Asset> findByStatus(String status);
-    List<Asset> findByVendor(Vendor vendor);
+    @Query("select a.assetTag from Asset a where a.assetTag in :tags")
+    List<String> findExistingTags(@Param("tags") Collection<String> tags);
+    @Override @EntityGraph(attributePaths = {"vendor", "depreciationRule"}) Optional<Asset> findById(Long id);
+    @Override @EntityGraph(attributePaths = {"vendor", "depreciationRule"}) List<Asset> findAll();
+    @EntityGraph(attributePaths = {"vendor", "depreciationRule"}) List<Asset> findByVendor(Vendor vendor);
+    @EntityGraph(attributePaths = {"vendor", "depreciationRule"}) List<Asset> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    @EntityGraph(attributePaths = {"vendor", "depreciationRule"}) List<Asset> findByStatusAndIdGreaterThanOrderByIdAsc(String status, Long id, Pageable pageable);
+    @Query("select a.status, count(a), coalesce(sum(a.purchaseCost), 0) from Asset a group by a.status")
+    List<Object[]> countByStatus();
+    @Query("select v.id, v.vendorName, count(a), coalesce(sum(a.purchaseCost), 0) from Asset a left join a.vendor v group by v.id, v.vendorName")
+    List<Object[]> countByVendor();
+    @Query(SUMMARY + " where a.id > :afterId order by a.id") List<AssetSummary> findSummariesAfter(@Param("afterId") Long afterId, Pageable pageable);
+    @Query(SUMMARY + " where a.status = :status and a.id > :afterId order by a.id")
+    List<AssetSummary> findSummariesByStatusAfter(@Param("status") String status, @Param("afterId") Long afterId, Pageable pageable);
+    @Query(SUMMARY + " where v.id = :vendorId and a.id > :afterId order by a.id")
+    List<AssetSummary> findSummariesByVendorIdAfter(@Param("vendorId") Long vendorId, @Param("afterId") Long afterId, Pageable pageable);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("select a from Asset a left join fetch a.vendor left join fetch a.depreciationRule order by a.id")
+    Stream<Asset> streamAll();
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("select a from Asset a left join fetch a.vendor left join fetch a.depreciationRule where a.status = :status order by a.id")
+    Stream<Asset> streamByStatus(@Param("status") String status);
+    /**
+     * Assets held on {@code asOf}: purchased by then (or undated) and not disposed of by then. A disposed asset left on
+     * the earliest date among its disposal rows, falling back to when the row or the asset was created, the same
+     * rule month-end checkpoints apply.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("select a.purchaseCost, a.purchaseDate, r.id from Asset a left join a.depreciationRule r where (a.purchaseDate is null or a.purchaseDate <= :asOf) "
+         + "and (a.status is null or a.status <> 'DISPOSED' or coalesce((select min(coalesce(d.disposalDate, cast(d.createdAt as LocalDate))) from AssetDisposal d "
+         + "where d.asset = a), cast(a.createdAt as LocalDate)) > :asOf)")
+    Stream<Object[]> streamValuationRows(@Param("asOf") LocalDate asOf);
+
+    String SEARCH_ROW = "select a.id, a.assetTag, a.assetName, v.id, v.vendorName from Asset a left join a.vendor v";
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(SEARCH_ROW + " order by a.id") Stream<Object[]> streamSearchRows();
+    @Query(SEARCH_ROW + " where a.assetTag in :tags") List<Object[]> findSearchRowsByTags(@Param("tags") Collection<String> tags);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Asset a set a.status = :status, a.version = a.version + 1 where a.id in :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") String status);
 }
@@ -1,7 +1,11 @@
 package com.example.demo.repository;
 import com.example.demo.entity.DepreciationRule;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import java.util.Optional;
 public interface DepreciationRuleRepository extends JpaRepository<DepreciationRule, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<DepreciationRule> findByRuleName(String ruleName);
 }
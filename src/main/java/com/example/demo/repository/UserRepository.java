@@ -1,7 +1,8 @@
 package com.example.demo.repository;
 import com.example.demo.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import java.util.Optional;
 public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByEmail(String email);
+    @EntityGraph(attributePaths = "roles") Optional<User> findByEmail(String email);
 }
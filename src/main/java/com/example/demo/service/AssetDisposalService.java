@@ -1,6 +1,9 @@
 package com.example.demo.service;
+import com.example.demo.dto.DisposalApprovalReport;
+import com.example.demo.dto.DisposalApprovalRequest;
 import com.example.demo.entity.AssetDisposal;
 public interface AssetDisposalService {
     AssetDisposal requestDisposal(Long assetId, AssetDisposal disposal);
     AssetDisposal approveDisposal(Long disposalId, Long adminId);
+    DisposalApprovalReport approveDisposals(DisposalApprovalRequest request);
 }
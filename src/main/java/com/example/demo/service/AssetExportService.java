@@ -0,0 +1,10 @@
+package com.example.demo.service;
+import com.example.demo.dto.ExportReport;
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.List;
+public interface AssetExportService {
+    ExportReport export(ExportReport.Format format, Long fromId, Long toId, WritableByteChannel out) throws IOException;
+    List<ExportReport> exportToDirectory(ExportReport.Format format, Path dir, long idsPerChunk) throws IOException;
+}
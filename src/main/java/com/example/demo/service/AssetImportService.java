@@ -0,0 +1,10 @@
+package com.example.demo.service;
+import com.example.demo.dto.AssetImportRow;
+import com.example.demo.dto.ImportReport;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+public interface AssetImportService {
+    ImportReport importAssets(List<AssetImportRow> rows);
+    ImportReport importCsv(InputStream csv) throws IOException;
+}
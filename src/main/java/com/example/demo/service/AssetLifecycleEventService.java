@@ -1,7 +1,13 @@
 package com.example.demo.service;
+import com.example.demo.dto.LifecycleEventView;
 import com.example.demo.entity.AssetLifecycleEvent;
 import java.util.List;
+import java.util.Map;
 public interface AssetLifecycleEventService {
     AssetLifecycleEvent logEvent(Long assetId, AssetLifecycleEvent event);
+    long queueEvent(Long assetId, AssetLifecycleEvent event);
     List<AssetLifecycleEvent> getEvents(Long assetId);
+    List<LifecycleEventView> getEventViews(Long assetId);
+    Map<String, Object> getArchiveStats();
+    int archiveNow();
 }
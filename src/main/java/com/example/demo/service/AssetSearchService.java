@@ -0,0 +1,13 @@
+package com.example.demo.service;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+public interface AssetSearchService {
+    void assetSaved(Long id, String assetTag, String assetName, Long vendorId, String vendorName);
+    void assetsInserted(Collection<String> assetTags);
+    boolean isReady();
+    boolean tagExists(String assetTag);
+    List<Long> search(String query, int limit);
+    void rebuild();
+    Map<String, Object> getStats();
+}
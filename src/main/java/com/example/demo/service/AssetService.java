@@ -1,9 +1,13 @@
 package com.example.demo.service;
+import com.example.demo.dto.AssetPage;
+import com.example.demo.dto.AssetSummaryPage;
 import com.example.demo.entity.Asset;
-import java.util.List;
+import java.util.function.Consumer;
 public interface AssetService {
     Asset createAsset(Long vendorId, Long ruleId, Asset asset);
-    List<Asset> getAllAssets();
     Asset getAsset(Long id);
-    List<Asset> getAssetsByStatus(String status);
+    AssetSummaryPage getAssetSummaries(String status, Long afterId, int limit);
+    AssetSummaryPage getAssetSummariesByVendor(Long vendorId, Long afterId, int limit);
+    AssetPage getAssetPage(String status, Long afterId, int limit);
+    void streamAssets(String status, Consumer<Asset> sink);
 }
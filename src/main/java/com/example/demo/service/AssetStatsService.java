@@ -0,0 +1,8 @@
+package com.example.demo.service;
+import java.util.Map;
+public interface AssetStatsService {
+    void assetCreated(String status, Long vendorId, String vendorName, Double cost);
+    void statusChanged(String from, String to, Long vendorId, Double cost);
+    void reconcile();
+    Map<String, Object> getSummary();
+}
@@ -0,0 +1,8 @@
+package com.example.demo.service;
+import com.example.demo.dto.AuthResponse;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+public interface AuthService {
+    CompletableFuture<AuthResponse> login(String email, String password);
+    Map<String, Object> getLoginStats();
+}
@@ -0,0 +1,16 @@
+package com.example.demo.service;
+import com.example.demo.dto.AssetValuation;
+import com.example.demo.dto.DepreciationPeriod;
+import com.example.demo.dto.HistoricalValuation;
+import com.example.demo.dto.PortfolioValuation;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+public interface DepreciationService {
+    AssetValuation valueAsset(Long assetId, LocalDate asOf);
+    List<DepreciationPeriod> getSchedule(Long assetId);
+    PortfolioValuation valuePortfolio(LocalDate asOf);
+    HistoricalValuation valueHistorical(LocalDate asOf, Long vendorId);
+    List<Map<String, Object>> getCheckpoints();
+    List<Map<String, Object>> checkpointNow();
+}
@@ -0,0 +1,18 @@
+package com.example.demo.service;
+import com.example.demo.dto.EventFeedFilter;
+import com.example.demo.dto.FeedEvent;
+import java.io.IOException;
+import java.util.Map;
+public interface EventFeedService {
+    /** Pushes committed events after {@code afterId} (only new ones when null) to {@code sink} until cancelled, failed or dropped. */
+    Subscription subscribe(EventFeedFilter filter, Long afterId, Sink sink);
+    Map<String, Object> getFeedStats();
+
+    interface Sink {
+        void send(FeedEvent event) throws IOException;
+        void heartbeat() throws IOException;
+        void close(String reason);
+    }
+
+    interface Subscription { void cancel(); }
+}
@@ -1,30 +1,119 @@
 package com.example.demo.service.impl;
+import com.example.demo.dto.DisposalApprovalReport;
+import com.example.demo.dto.DisposalApprovalReport.Outcome;
+import com.example.demo.dto.DisposalApprovalRequest;
+import com.example.demo.dto.DisposalApprovalRow;
+import com.example.demo.entity.Asset;
 import com.example.demo.entity.AssetDisposal;
+import com.example.demo.entity.User;
 import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.repository.*;
 import com.example.demo.service.AssetDisposalService;
+import com.example.demo.service.AssetStatsService;
+import com.example.demo.util.VersionStamps;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
 
 @Service
 public class AssetDisposalServiceImpl implements AssetDisposalService {
+    static final String APPROVAL_EVENT = "DISPOSAL_APPROVED";
     private final AssetDisposalRepository disposalRepo;
     private final AssetRepository assetRepo;
     private final UserRepository userRepo;
-    public AssetDisposalServiceImpl(AssetDisposalRepository disposalRepo, AssetRepository assetRepo, UserRepository userRepo) {
-        this.disposalRepo = disposalRepo; this.assetRepo = assetRepo; this.userRepo = userRepo;
+    private final AssetStatsService stats;
+    private final TransactionTemplate tx;
+    private final int batchSize;
+    public AssetDisposalServiceImpl(AssetDisposalRepository disposalRepo, AssetRepository assetRepo, UserRepository userRepo, AssetStatsService stats,
+                                    PlatformTransactionManager txManager, @Value("${app.disposals.approval-batch-size:500}") int batchSize) {
+        this.disposalRepo = disposalRepo; this.assetRepo = assetRepo; this.userRepo = userRepo; this.stats = stats;
+        this.tx = new TransactionTemplate(txManager); this.batchSize = Math.max(1, batchSize);
     }
-    @Override public AssetDisposal requestDisposal(Long assetId, AssetDisposal disposal) {
+    @Override @Transactional public AssetDisposal requestDisposal(Long assetId, AssetDisposal disposal) {
         var asset = assetRepo.findById(assetId).orElseThrow(() -> new ResourceNotFoundException("Asset not found"));
         if (disposal.getDisposalValue() < 0) throw new IllegalArgumentException("Invalid value");
         disposal.setAsset(asset);
         return disposalRepo.save(disposal);
     }
-    @Override public AssetDisposal approveDisposal(Long disposalId, Long adminId) {
+    @Override @Transactional public AssetDisposal approveDisposal(Long disposalId, Long adminId) {
         var disposal = disposalRepo.findById(disposalId).orElseThrow(() -> new ResourceNotFoundException("Disposal not found"));
         var admin = userRepo.findById(adminId).orElseThrow(() -> new ResourceNotFoundException("Admin not found"));
+        var asset = disposal.getAsset();
+        if (disposal.getApprovedBy() != null) throw new IllegalArgumentException("Disposal is already approved");
+        if ("DISPOSED".equals(asset.getStatus())) throw new IllegalArgumentException("Asset is already disposed");
         disposal.setApprovedBy(admin);
-        disposal.getAsset().setStatus("DISPOSED");
-        assetRepo.save(disposal.getAsset());
-        return disposalRepo.save(disposal);
+        String previous = asset.getStatus();
+        asset.setStatus("DISPOSED");
+        assetRepo.save(asset);
+        AssetDisposal saved = disposalRepo.save(disposal);
+        disposalRepo.insertApprovalEvents(List.of(saved.getId()), APPROVAL_EVENT, LocalDate.now(), LocalDateTime.now());
+        Long vendorId = asset.getVendor() == null ? null : asset.getVendor().getId();
+        Double cost = asset.getPurchaseCost();
+        afterCommit(() -> stats.statusChanged(previous, "DISPOSED", vendorId, cost));
+        return saved;
+    }
+
+    /** Each chunk locks its rows, decides every item, and applies two set-based UPDATEs in one transaction. */
+    @Override public DisposalApprovalReport approveDisposals(DisposalApprovalRequest request) {
+        if (request == null || request.getAdminId() == null) throw new IllegalArgumentException("adminId is required");
+        User admin = userRepo.findById(request.getAdminId()).orElseThrow(() -> new ResourceNotFoundException("Admin not found"));
+        List<DisposalApprovalRequest.Item> items = request.getItems() == null ? List.of() : request.getItems();
+        DisposalApprovalReport report = new DisposalApprovalReport();
+        report.setReceived(items.size());
+        for (int from = 0; from < items.size(); from += batchSize) {
+            List<DisposalApprovalRequest.Item> chunk = items.subList(from, Math.min(items.size(), from + batchSize));
+            List<DisposalApprovalReport.ItemResult> results = tx.execute(s -> approveChunk(chunk, admin));
+            results.forEach(r -> report.add(r.getDisposalId(), r.getAssetId(), r.getOutcome(), r.getVersion(), r.getMessage()));
+        }
+        return report;
+    }
+
+    private List<DisposalApprovalReport.ItemResult> approveChunk(List<DisposalApprovalRequest.Item> chunk, User admin) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (DisposalApprovalRequest.Item item : chunk) if (item != null && item.getDisposalId() != null) ids.add(item.getDisposalId());
+        Map<Long, DisposalApprovalRow> rows = new HashMap<>();
+        if (!ids.isEmpty()) for (DisposalApprovalRow row : disposalRepo.lockApprovalRows(ids)) rows.put(row.disposalId(), row);
+        List<DisposalApprovalReport.ItemResult> results = new ArrayList<>(chunk.size());
+        List<DisposalApprovalRow> approved = new ArrayList<>();
+        Set<Long> seenDisposals = new HashSet<>(), seenAssets = new HashSet<>();
+        for (DisposalApprovalRequest.Item item : chunk) {
+            Long id = item == null ? null : item.getDisposalId();
+            DisposalApprovalRow row = id == null ? null : rows.get(id);
+            if (row == null) { results.add(new DisposalApprovalReport.ItemResult(id, null, Outcome.NOT_FOUND, null, id == null ? "disposalId is required" : "Disposal not found")); continue; }
+            if (row.approvedById() != null) { results.add(new DisposalApprovalReport.ItemResult(id, row.assetId(), Outcome.ALREADY_APPROVED, row.disposalVersion(), "Already approved")); continue; }
+            String conflict = null;
+            if (item.getVersion() != null && !item.getVersion().equals(row.disposalVersion())) conflict = "Expected version " + item.getVersion() + " but found " + row.disposalVersion();
+            else if (!seenDisposals.add(id)) conflict = "Duplicate item in request";
+            else if ("DISPOSED".equals(row.assetStatus()) || !seenAssets.add(row.assetId())) conflict = "Asset is already disposed";
+            if (conflict != null) { results.add(new DisposalApprovalReport.ItemResult(id, row.assetId(), Outcome.CONFLICT, row.disposalVersion(), conflict)); continue; }
+            approved.add(row);
+            results.add(new DisposalApprovalReport.ItemResult(id, row.assetId(), Outcome.APPROVED, row.disposalVersion() + 1, null));
+        }
+        if (!approved.isEmpty()) {
+            List<Long> disposalIds = approved.stream().map(DisposalApprovalRow::disposalId).toList();
+            List<Long> assetIds = approved.stream().map(DisposalApprovalRow::assetId).toList();
+            int disposals = disposalRepo.approveAll(disposalIds, admin), assets = assetRepo.updateStatus(assetIds, "DISPOSED");
+            if (disposals != disposalIds.size() || assets != assetIds.size())
+                throw new IllegalStateException("Locked disposal rows changed during approval (" + disposals + "/" + disposalIds.size() + ", " + assets + "/" + assetIds.size() + ")");
+            disposalRepo.insertApprovalEvents(disposalIds, APPROVAL_EVENT, LocalDate.now(), LocalDateTime.now());
+            VersionStamps.touch(AssetDisposal.class, disposalIds); VersionStamps.touch(Asset.class, assetIds);
+            afterCommit(() -> { for (DisposalApprovalRow row : approved) stats.statusChanged(row.assetStatus(), "DISPOSED", row.vendorId(), row.purchaseCost()); });
+        }
+        return results;
+    }
+
+    /** Counters move only once the status change is durable; a rolled-back approval leaves them alone. */
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) { update.run(); return; }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override public void afterCommit() { update.run(); }
+        });
     }
 }
@@ -0,0 +1,274 @@
+package com.example.demo.service.impl;
+import com.example.demo.dto.ExportReport;
+import com.example.demo.dto.ExportReport.Format;
+import com.example.demo.service.AssetExportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams the register (asset joined with vendor, rule and disposal, one row per asset and disposal) from a
+ * forward-only JDBC cursor straight into the output channel, so heap stays flat whatever the table size. CSV is
+ * gzip'd and is a report, not an import file: an asset repeats once per disposal, and quoted newlines would split
+ * rows for the line-based importer. The columnar format is
+ * {@code MAGIC FORMAT columnCount (name type)*}, then row groups of {@code rows (deflatedLength bytes)*} with one
+ * deflated block per column, then a zero-row group and a footer of {@code rows firstId lastId}. Each value is a
+ * presence byte, then: doubles as IEEE bits, strings as {@link DataOutputStream#writeUTF}, and longs, epoch days and
+ * epoch milliseconds (local time read as UTC) as zigzag varint deltas from the previous value of the column in the
+ * same group, so sorted ids and batch timestamps shrink to a byte or two before deflate.
+ */
+@Service
+public class AssetExportServiceImpl implements AssetExportService {
+    private static final Logger log = LoggerFactory.getLogger(AssetExportServiceImpl.class);
+    static final int MAGIC = 0x41434f4c, FORMAT = 1;
+    static final byte I64 = 1, F64 = 2, STR = 3, DATE = 4, TS = 5;
+    static final String EXPORT_SQL = "select a.id, a.asset_tag, a.asset_name, a.status, a.purchase_date, a.purchase_cost, a.created_at, "
+            + "v.id, v.vendor_name, r.id, r.rule_name, r.method, r.useful_life_years, r.salvage_value, "
+            + "d.id, d.disposal_method, d.disposal_value, d.disposal_date, d.approved_by_id "
+            + "from assets a left join vendors v on v.id = a.vendor_id left join depreciation_rules r on r.id = a.depreciation_rule_id "
+            + "left join asset_disposals d on d.asset_id = a.id where a.id between ? and ? order by a.id, d.id";
+
+    record Column(String name, byte type) {}
+    static final List<Column> COLUMNS = List.of(
+            new Column("id", I64), new Column("assetTag", STR), new Column("assetName", STR), new Column("status", STR),
+            new Column("purchaseDate", DATE), new Column("purchaseCost", F64), new Column("createdAt", TS),
+            new Column("vendorId", I64), new Column("vendorName", STR), new Column("ruleId", I64), new Column("ruleName", STR),
+            new Column("method", STR), new Column("usefulLifeYears", I64), new Column("salvageValue", F64),
+            new Column("disposalId", I64), new Column("disposalMethod", STR), new Column("disposalValue", F64),
+            new Column("disposalDate", DATE), new Column("disposalApprovedBy", I64));
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate readOnlyTx;
+    private final int fetchSize, rowGroup;
+
+    public AssetExportServiceImpl(JdbcTemplate jdbc, PlatformTransactionManager txManager,
+                                  @Value("${app.export.fetch-size:1000}") int fetchSize,
+                                  @Value("${app.export.row-group:8192}") int rowGroup) {
+        this.jdbc = jdbc; this.fetchSize = Math.max(1, fetchSize); this.rowGroup = Math.max(1, rowGroup);
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    /** Exports ids in [fromId, toId]; both ends are optional, so a client resumes with {@code fromId = lastId + 1}. */
+    @Override public ExportReport export(Format format, Long fromId, Long toId, WritableByteChannel out) throws IOException {
+        long from = fromId == null ? 0L : fromId, to = toId == null ? Long.MAX_VALUE : toId;
+        if (format == null) throw new IllegalArgumentException("Format is required");
+        if (from > to) throw new IllegalArgumentException("fromId must not exceed toId");
+        ExportReport report = new ExportReport(format, from, to);
+        WritableByteChannel target = new CallerOwned(out);
+        RowSink sink = format == Format.CSV ? new CsvSink(target) : new ColumnarSink(target, rowGroup);
+        boolean complete = false;
+        try {
+            readOnlyTx.executeWithoutResult(s -> jdbc.query(con -> {
+                PreparedStatement ps = con.prepareStatement(EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                // Connector/J only streams with this sentinel; anything else buffers the whole result
+                ps.setFetchSize("MySQL".equals(con.getMetaData().getDatabaseProductName()) ? Integer.MIN_VALUE : fetchSize);
+                ps.setLong(1, from); ps.setLong(2, to);
+                return ps;
+            }, rs -> {
+                try { sink.row(rs); } catch (IOException e) { throw new UncheckedIOException(e); }
+                report.addRow(rs.getLong(1));
+            }));
+            sink.finish(report);
+            sink.close();
+            complete = true;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            // no trailer or footer after a failure, so a truncated export can't pass for a complete one
+            if (!complete) sink.abort();
+        }
+        return report;
+    }
+
+    /**
+     * Writes one file per id range of {@code idsPerChunk}. Each chunk is written to a temporary file and moved into
+     * place, and chunks whose file already exists are skipped, so an interrupted run resumes where it stopped.
+     * Chunk boundaries are fixed multiples of the chunk size; use a fresh directory for each export run.
+     */
+    @Override public List<ExportReport> exportToDirectory(Format format, Path dir, long idsPerChunk) throws IOException {
+        if (idsPerChunk <= 0) throw new IllegalArgumentException("idsPerChunk must be positive");
+        Files.createDirectories(dir);
+        Long maxId = jdbc.queryForObject("select max(id) from assets", Long.class);
+        List<ExportReport> reports = new ArrayList<>();
+        if (maxId == null) return reports;
+        for (long from = 1; from <= maxId; from += idsPerChunk) {
+            long to = from + idsPerChunk - 1;
+            Path target = dir.resolve(String.format("assets-%012d-%012d.%s", from, to, format == Format.CSV ? "csv.gz" : "acol"));
+            // the chunk holding the newest id may still grow, so only closed ranges count as done
+            if (to < maxId && Files.exists(target)) { log.info("Skipping {}, already exported", target.getFileName()); continue; }
+            Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+            ExportReport report;
+            try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                report = export(format, from, to, ch);
+                ch.force(true);
+            }
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+            report.setFile(target.toString());
+            reports.add(report);
+            log.info("Exported {} rows to {} ({} bytes)", report.getRows(), target.getFileName(), Files.size(target));
+        }
+        return reports;
+    }
+
+    private interface RowSink extends Closeable {
+        void row(ResultSet rs) throws SQLException, IOException;
+        void finish(ExportReport report) throws IOException;
+        default void abort() {}
+    }
+
+    /** The caller opened the channel and closes it; sinks closing their streams must not. */
+    private record CallerOwned(WritableByteChannel channel) implements WritableByteChannel {
+        @Override public int write(ByteBuffer src) throws IOException { return channel.write(src); }
+        @Override public boolean isOpen() { return channel.isOpen(); }
+        @Override public void close() {}
+    }
+
+    private static final class CsvSink implements RowSink {
+        private final Writer out;
+        private final StringBuilder line = new StringBuilder(256);
+
+        CsvSink(WritableByteChannel channel) throws IOException {
+            this.out = new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(Channels.newOutputStream(channel), 1 << 16), StandardCharsets.UTF_8), 1 << 16);
+            for (int c = 0; c < COLUMNS.size(); c++) line.append(c == 0 ? "" : ",").append(COLUMNS.get(c).name());
+            out.write(line.append('\n').toString());
+        }
+
+        @Override public void row(ResultSet rs) throws SQLException, IOException {
+            line.setLength(0);
+            for (int c = 0; c < COLUMNS.size(); c++) {
+                if (c > 0) line.append(',');
+                int i = c + 1;
+                switch (COLUMNS.get(c).type()) {
+                    case I64 -> { long v = rs.getLong(i); if (!rs.wasNull()) line.append(v); }
+                    case F64 -> { double v = rs.getDouble(i); if (!rs.wasNull()) line.append(BigDecimal.valueOf(v).toPlainString()); }
+                    case DATE -> { Date v = rs.getDate(i); if (v != null) line.append(v.toLocalDate()); }
+                    case TS -> { Timestamp v = rs.getTimestamp(i); if (v != null) line.append(v.toLocalDateTime()); }
+                    default -> quote(rs.getString(i));
+                }
+            }
+            out.write(line.append('\n').toString());
+        }
+
+        private void quote(String v) {
+            if (v == null) return;
+            if (v.indexOf(',') < 0 && v.indexOf('"') < 0 && v.indexOf('\n') < 0 && v.indexOf('\r') < 0) { line.append(v); return; }
+            line.append('"').append(v.replace("\"", "\"\"")).append('"');
+        }
+
+        @Override public void finish(ExportReport report) throws IOException { out.flush(); }
+        @Override public void close() throws IOException { out.close(); }
+    }
+
+    private static final class ColumnarSink implements RowSink {
+        private final DataOutputStream out;
+        private final int groupSize;
+        private final ByteArrayOutputStream[] buffers = new ByteArrayOutputStream[COLUMNS.size()];
+        private final DataOutputStream[] columns = new DataOutputStream[COLUMNS.size()];
+        private final long[] previous = new long[COLUMNS.size()];
+        private final Deflater deflater = new Deflater();
+        private final ByteArrayOutputStream compressed = new ByteArrayOutputStream(1 << 16);
+        private final byte[] chunk = new byte[1 << 16];
+        private int rows;
+
+        ColumnarSink(WritableByteChannel channel, int groupSize) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+            this.groupSize = groupSize;
+            out.writeInt(MAGIC); out.writeInt(FORMAT); out.writeInt(COLUMNS.size());
+            for (int c = 0; c < COLUMNS.size(); c++) {
+                out.writeUTF(COLUMNS.get(c).name()); out.writeByte(COLUMNS.get(c).type());
+                buffers[c] = new ByteArrayOutputStream(groupSize * 8);
+                columns[c] = new DataOutputStream(buffers[c]);
+            }
+        }
+
+        @Override public void row(ResultSet rs) throws SQLException, IOException {
+            for (int c = 0; c < COLUMNS.size(); c++) {
+                DataOutputStream col = columns[c];
+                int i = c + 1;
+                switch (COLUMNS.get(c).type()) {
+                    case I64 -> { long v = rs.getLong(i); boolean present = !rs.wasNull(); col.writeBoolean(present); if (present) delta(c, v); }
+                    case F64 -> { double v = rs.getDouble(i); boolean present = !rs.wasNull(); col.writeBoolean(present); if (present) col.writeDouble(v); }
+                    case DATE -> { Date v = rs.getDate(i); col.writeBoolean(v != null); if (v != null) delta(c, v.toLocalDate().toEpochDay()); }
+                    case TS -> { Timestamp v = rs.getTimestamp(i); col.writeBoolean(v != null); if (v != null) delta(c, v.toLocalDateTime().toInstant(ZoneOffset.UTC).toEpochMilli()); }
+                    default -> { String v = rs.getString(i); col.writeBoolean(v != null); if (v != null) col.writeUTF(v); }
+                }
+            }
+            if (++rows == groupSize) flushGroup();
+        }
+
+        private void delta(int c, long value) throws IOException {
+            long d = value - previous[c];
+            previous[c] = value;
+            long zigzag = (d << 1) ^ (d >> 63);
+            while ((zigzag & ~0x7FL) != 0) { columns[c].writeByte((int) ((zigzag & 0x7F) | 0x80)); zigzag >>>= 7; }
+            columns[c].writeByte((int) zigzag);
+        }
+
+        private void flushGroup() throws IOException {
+            if (rows == 0) return;
+            out.writeInt(rows);
+            for (ByteArrayOutputStream buffer : buffers) {
+                deflater.reset();
+                deflater.setInput(buffer.toByteArray());
+                deflater.finish();
+                compressed.reset();
+                while (!deflater.finished()) compressed.write(chunk, 0, deflater.deflate(chunk));
+                out.writeInt(compressed.size());
+                compressed.writeTo(out);
+                buffer.reset();
+            }
+            rows = 0;
+            Arrays.fill(previous, 0L);
+        }
+
+        @Override public void finish(ExportReport report) throws IOException {
+            flushGroup();
+            out.writeInt(0);
+            out.writeLong(report.getRows());
+            out.writeLong(report.getFirstId() == null ? 0 : report.getFirstId());
+            out.writeLong(report.getLastId() == null ? 0 : report.getLastId());
+            out.flush();
+        }
+
+        @Override public void close() throws IOException {
+            try { out.close(); } finally { deflater.end(); }
+        }
+
+        @Override public void abort() { deflater.end(); }
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.demo.service.impl;
+import com.example.demo.dto.AssetImportRow;
+import com.example.demo.dto.ImportReport;
+import com.example.demo.entity.Asset;
+import com.example.demo.entity.DepreciationRule;
+import com.example.demo.entity.Vendor;
+import com.example.demo.repository.AssetRepository;
+import com.example.demo.repository.DepreciationRuleRepository;
+import com.example.demo.repository.VendorRepository;
+import com.example.demo.service.AssetImportService;
+import com.example.demo.service.AssetSearchService;
+import com.example.demo.service.AssetStatsService;
+import com.example.demo.util.VersionStamps;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Service
+public class AssetImportServiceImpl implements AssetImportService {
+    static final String INSERT_SQL = "insert into assets (asset_tag, asset_name, vendor_id, depreciation_rule_id, purchase_date, purchase_cost, status, created_at) values (?, ?, ?, ?, ?, ?, ?, ?)";
+    private final AssetRepository assetRepo;
+    private final VendorRepository vendorRepo;
+    private final DepreciationRuleRepository ruleRepo;
+    private final JdbcTemplate jdbc;
+    private final AssetStatsService stats;
+    private final AssetSearchService search;
+    private final TransactionTemplate tx;
+    private final int batchSize;
+
+    public AssetImportServiceImpl(AssetRepository assetRepo, VendorRepository vendorRepo, DepreciationRuleRepository ruleRepo, JdbcTemplate jdbc, AssetStatsService stats,
+                                  AssetSearchService search, PlatformTransactionManager txManager, @Value("${app.import.batch-size:500}") int batchSize) {
+        this.assetRepo = assetRepo; this.vendorRepo = vendorRepo; this.ruleRepo = ruleRepo; this.jdbc = jdbc; this.stats = stats; this.search = search;
+        this.tx = new TransactionTemplate(txManager); this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Override public ImportReport importAssets(List<AssetImportRow> rows) {
+        ImportBatch batch = new ImportBatch();
+        for (int i = 0; i < rows.size(); i++) batch.add(i + 1, rows.get(i));
+        return batch.finish();
+    }
+
+    @Override public ImportReport importCsv(InputStream csv) throws IOException {
+        ImportBatch batch = new ImportBatch();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+        String line = reader.readLine();
+        if (line == null) return batch.finish();
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> header = splitCsv(line);
+        for (int i = 0; i < header.size(); i++) columns.put(header.get(i).trim(), i);
+        for (String required : List.of("assetTag", "vendorId", "ruleId", "purchaseCost"))
+            if (!columns.containsKey(required)) throw new IllegalArgumentException("Missing CSV column: " + required);
+        int rowNo = 0;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) continue;
+            rowNo++;
+            List<String> cells = splitCsv(line);
+            try {
+                AssetImportRow row = new AssetImportRow();
+                row.setAssetTag(cell(cells, columns, "assetTag"));
+                row.setAssetName(cell(cells, columns, "assetName"));
+                String v;
+                if ((v = cell(cells, columns, "vendorId")) != null) row.setVendorId(Long.valueOf(v));
+                if ((v = cell(cells, columns, "ruleId")) != null) row.setRuleId(Long.valueOf(v));
+                if ((v = cell(cells, columns, "purchaseDate")) != null) row.setPurchaseDate(LocalDate.parse(v));
+                if ((v = cell(cells, columns, "purchaseCost")) != null) row.setPurchaseCost(Double.valueOf(v));
+                row.setStatus(cell(cells, columns, "status"));
+                batch.add(rowNo, row);
+            } catch (RuntimeException e) {
+                batch.reject(rowNo, cell(cells, columns, "assetTag"), "Unparseable row: " + e.getMessage());
+            }
+        }
+        return batch.finish();
+    }
+
+    private class ImportBatch {
+        final ImportReport report = new ImportReport();
+        final Map<Long, Vendor> vendors = new HashMap<>();
+        final Map<Long, DepreciationRule> rules = new HashMap<>();
+        final Set<String> seenTags = new HashSet<>();
+        final List<Integer> rowNos = new ArrayList<>(batchSize);
+        final List<AssetImportRow> pending = new ArrayList<>(batchSize);
+
+        void add(int rowNo, AssetImportRow row) {
+            report.setReceived(report.getReceived() + 1);
+            rowNos.add(rowNo); pending.add(row);
+            if (pending.size() >= batchSize) flush();
+        }
+
+        void reject(int rowNo, String tag, String message) {
+            report.setReceived(report.getReceived() + 1);
+            report.addError(rowNo, tag, message);
+        }
+
+        ImportReport finish() { flush(); return report; }
+
+        void flush() {
+            if (pending.isEmpty()) return;
+            resolveReferences();
+            Set<String> existing = new HashSet<>();
+            List<String> tags = pending.stream().map(AssetImportRow::getAssetTag).filter(Objects::nonNull).toList();
+            if (!tags.isEmpty()) existing.addAll(assetRepo.findExistingTags(tags));
+            List<Integer> okRows = new ArrayList<>(pending.size());
+            List<Object[]> args = new ArrayList<>(pending.size());
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            for (int i = 0; i < pending.size(); i++) {
+                AssetImportRow row = pending.get(i);
+                String error = validate(row, existing);
+                if (error != null) { report.addError(rowNos.get(i), row.getAssetTag(), error); continue; }
+                seenTags.add(row.getAssetTag());
+                okRows.add(i);
+                args.add(new Object[] { row.getAssetTag(), row.getAssetName(), row.getVendorId(), row.getRuleId(),
+                        row.getPurchaseDate() == null ? null : Date.valueOf(row.getPurchaseDate()), row.getPurchaseCost(),
+                        row.getStatus() == null ? "ACTIVE" : row.getStatus(), now });
+            }
+            insert(okRows, args);
+            rowNos.clear(); pending.clear();
+        }
+
+        void resolveReferences() {
+            Set<Long> vendorIds = new HashSet<>(), ruleIds = new HashSet<>();
+            for (AssetImportRow row : pending) {
+                if (row.getVendorId() != null && !vendors.containsKey(row.getVendorId())) vendorIds.add(row.getVendorId());
+                if (row.getRuleId() != null && !rules.containsKey(row.getRuleId())) ruleIds.add(row.getRuleId());
+            }
+            if (!vendorIds.isEmpty()) vendorRepo.findAllById(vendorIds).forEach(v -> vendors.put(v.getId(), v));
+            if (!ruleIds.isEmpty()) ruleRepo.findAllById(ruleIds).forEach(r -> rules.put(r.getId(), r));
+        }
+
+        String validate(AssetImportRow row, Set<String> existing) {
+            if (row.getAssetTag() == null || row.getAssetTag().isBlank()) return "Asset tag required";
+            if (row.getVendorId() == null || !vendors.containsKey(row.getVendorId())) return "Vendor not found";
+            if (row.getRuleId() == null || !rules.containsKey(row.getRuleId())) return "Rule not found";
+            if (row.getPurchaseCost() == null || row.getPurchaseCost() <= 0) return "Invalid cost";
+            if (existing.contains(row.getAssetTag()) || seenTags.contains(row.getAssetTag())) return "Duplicate tag";
+            return null;
+        }
+
+        void insert(List<Integer> okRows, List<Object[]> args) {
+            if (args.isEmpty()) return;
+            try {
+                tx.executeWithoutResult(s -> jdbc.batchUpdate(INSERT_SQL, args));
+                VersionStamps.touchTable(Asset.class);
+                report.setImported(report.getImported() + args.size());
+                for (Object[] a : args) recordCreated(a);
+                search.assetsInserted(args.stream().map(a -> (String) a[0]).toList());
+            } catch (DataAccessException batchFailure) {
+                List<String> inserted = new ArrayList<>();
+                for (int i = 0; i < args.size(); i++) {
+                    int idx = okRows.get(i);
+                    try {
+                        jdbc.update(INSERT_SQL, args.get(i));
+                        VersionStamps.touchTable(Asset.class);
+                        report.setImported(report.getImported() + 1);
+                        recordCreated(args.get(i));
+                        inserted.add((String) args.get(i)[0]);
+                    } catch (DataAccessException e) {
+                        report.addError(rowNos.get(idx), pending.get(idx).getAssetTag(), e.getMostSpecificCause().getMessage());
+                    }
+                }
+                search.assetsInserted(inserted);
+            }
+        }
+
+        void recordCreated(Object[] insertArgs) {
+            Vendor vendor = vendors.get((Long) insertArgs[2]);
+            stats.assetCreated((String) insertArgs[6], vendor.getId(), vendor.getVendorName(), (Double) insertArgs[5]);
+        }
+    }
+
+    private static String cell(List<String> cells, Map<String, Integer> columns, String name) {
+        Integer i = columns.get(name);
+        if (i == null || i >= cells.size()) return null;
+        String v = cells.get(i).trim();
+        return v.isEmpty() ? null : v;
+    }
+
+    static List<String> splitCsv(String line) {
+        List<String> out = new ArrayList<>();
+        StringBuilder cur = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') { cur.append('"'); i++; }
+                else if (c == '"') quoted = false;
+                else cur.append(c);
+            } else if (c == '"') quoted = true;
+            else if (c == ',') { out.add(cur.toString()); cur.setLength(0); }
+            else cur.append(c);
+        }
+        out.add(cur.toString());
+        return out;
+    }
+}
@@ -1,26 +1,84 @@
 
 package com.example.demo.service.impl;
+import com.example.demo.dto.LifecycleEventView;
+import com.example.demo.entity.Asset;
 import com.example.demo.entity.AssetLifecycleEvent;
 import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.repository.*;
 import com.example.demo.service.AssetLifecycleEventService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 @Service
 public class AssetLifecycleEventServiceImpl implements AssetLifecycleEventService {
     private final AssetLifecycleEventRepository eventRepo;
     private final AssetRepository assetRepo;
-    public AssetLifecycleEventServiceImpl(AssetLifecycleEventRepository eventRepo, AssetRepository assetRepo) {
-        this.eventRepo = eventRepo; this.assetRepo = assetRepo;
+    private final EventWriteBehindBuffer writeBehind;
+    private final EventArchive archive;
+    /** The write-behind buffer only exists with {@code app.events.async.enabled}; every other collaborator is required. */
+    public AssetLifecycleEventServiceImpl(AssetLifecycleEventRepository eventRepo, AssetRepository assetRepo, Optional<EventWriteBehindBuffer> writeBehind, EventArchive archive) {
+        this.eventRepo = eventRepo; this.assetRepo = assetRepo; this.writeBehind = writeBehind.orElse(null); this.archive = archive;
     }
     @Override public AssetLifecycleEvent logEvent(Long assetId, AssetLifecycleEvent event) {
         var asset = assetRepo.findById(assetId).orElseThrow(() -> new ResourceNotFoundException("Asset not found"));
-        if (event.getEventDescription() == null || event.getEventDescription().isBlank()) throw new IllegalArgumentException("Desc required");
-        if (event.getEventDate().isAfter(LocalDate.now())) throw new IllegalArgumentException("Future date invalid");
+        validate(event);
         event.setAsset(asset);
         return eventRepo.save(event);
     }
-    @Override public List<AssetLifecycleEvent> getEvents(Long assetId) { return eventRepo.findByAssetIdOrderByEventDateDesc(assetId); }
+    @Override public long queueEvent(Long assetId, AssetLifecycleEvent event) {
+        if (writeBehind == null) throw new IllegalArgumentException("Async event ingestion is disabled");
+        if (!assetRepo.existsById(assetId)) throw new ResourceNotFoundException("Asset not found");
+        if (event.getEventDate() == null) throw new IllegalArgumentException("Event date required");
+        validate(event);
+        return writeBehind.enqueue(assetId, event.getEventType(), event.getEventDescription(), event.getEventDate());
+    }
+    @Override @Transactional(readOnly = true) public List<AssetLifecycleEvent> getEvents(Long assetId) {
+        List<AssetLifecycleEvent> hot = eventRepo.findByAssetIdOrderByEventDateDesc(assetId);
+        List<EventArchive.ArchivedEvent> cold = archive.read(assetId);
+        if (cold.isEmpty()) return hot;
+        Asset asset = hot.isEmpty() ? assetRepo.findById(assetId).orElse(null) : hot.get(0).getAsset();
+        return merge(hot, cold, AssetLifecycleEvent::getId, e -> {
+            AssetLifecycleEvent event = new AssetLifecycleEvent();
+            event.setId(e.id()); event.setAsset(asset); event.setEventType(e.eventType()); event.setEventDescription(e.eventDescription());
+            event.setEventDate(e.eventDate()); event.setLoggedAt(e.loggedAt());
+            return event;
+        }, AssetLifecycleEvent::getEventDate);
+    }
+    @Override @Transactional(readOnly = true) public List<LifecycleEventView> getEventViews(Long assetId) {
+        List<LifecycleEventView> hot = eventRepo.findViewsByAssetId(assetId);
+        List<EventArchive.ArchivedEvent> cold = archive.read(assetId);
+        if (cold.isEmpty()) return hot;
+        String assetTag = hot.isEmpty() ? assetRepo.findById(assetId).map(Asset::getAssetTag).orElse(null) : hot.get(0).assetTag();
+        return merge(hot, cold, LifecycleEventView::id,
+                e -> new LifecycleEventView(e.id(), e.assetId(), assetTag, e.eventType(), e.eventDescription(), e.eventDate(), e.loggedAt()), LifecycleEventView::eventDate);
+    }
+    @Override public Map<String, Object> getArchiveStats() { return archive.getStats(); }
+    @Override public int archiveNow() {
+        return archive.archive();
+    }
+
+    /** Hot rows win over archived copies of the same id (left behind if a run stopped between writing and deleting). */
+    private static <T> List<T> merge(List<T> hot, List<EventArchive.ArchivedEvent> cold, Function<T, Long> id, Function<EventArchive.ArchivedEvent, T> convert, Function<T, LocalDate> date) {
+        Set<Long> seen = new HashSet<>();
+        List<T> all = new ArrayList<>(hot.size() + cold.size());
+        for (T t : hot) { seen.add(id.apply(t)); all.add(t); }
+        for (EventArchive.ArchivedEvent e : cold) if (seen.add(e.id())) all.add(convert.apply(e));
+        all.sort(Comparator.comparing(date, Comparator.nullsLast(Comparator.<LocalDate>reverseOrder())).thenComparing(id, Comparator.reverseOrder()));
+        return all;
+    }
+
+    private static void validate(AssetLifecycleEvent event) {
+        if (event.getEventDescription() == null || event.getEventDescription().isBlank()) throw new IllegalArgumentException("Desc required");
+        if (event.getEventDate().isAfter(LocalDate.now())) throw new IllegalArgumentException("Future date invalid");
+    }
 }
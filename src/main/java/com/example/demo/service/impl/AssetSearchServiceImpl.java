@@ -0,0 +1,220 @@
+package com.example.demo.service.impl;
+import com.example.demo.exception.ServiceBusyException;
+import com.example.demo.repository.AssetRepository;
+import com.example.demo.service.AssetSearchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-process index over asset tags, names and vendor names, so lookups and duplicate-tag checks skip the database.
+ * Tags sit in a case-insensitive skip list (MySQL's unique index compares the same way), so a tag prefix is a range
+ * scan; name and vendor-name tokens map to posting sets. Built from a streamed scan once the app is ready, kept
+ * current by the write paths and periodically rebuilt to pick up writes made elsewhere.
+ */
+@Service
+public class AssetSearchServiceImpl implements AssetSearchService {
+    private static final Logger log = LoggerFactory.getLogger(AssetSearchServiceImpl.class);
+    static final int MAX_LIMIT = 100;
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private final AssetRepository assetRepo;
+    private final Object rebuildLock = new Object();
+    private volatile Index index, building;
+    private volatile LocalDateTime builtAt;
+    private volatile long buildMillis;
+    private final LongAdder searches = new LongAdder(), searchNanos = new LongAdder();
+
+    public AssetSearchServiceImpl(AssetRepository assetRepo) { this.assetRepo = assetRepo; }
+
+    @Override public void assetSaved(Long id, String assetTag, String assetName, Long vendorId, String vendorName) {
+        if (id == null || assetTag == null) return;
+        Index current = index, next = building;
+        if (current != null) current.put(id, assetTag, assetName, vendorId, vendorName);
+        if (next != null && next != current) next.put(id, assetTag, assetName, vendorId, vendorName);
+    }
+
+    /** Bulk inserts don't return ids, so look the new rows up by tag. */
+    @Override public void assetsInserted(Collection<String> assetTags) {
+        if (assetTags.isEmpty()) return;
+        for (Object[] row : assetRepo.findSearchRowsByTags(assetTags)) assetSaved((Long) row[0], (String) row[1], (String) row[2], (Long) row[3], (String) row[4]);
+    }
+
+    @Override public boolean isReady() { return index != null; }
+
+    @Override public boolean tagExists(String assetTag) {
+        Index current = index;
+        if (current == null) throw new ServiceBusyException("Search index is still building");
+        return assetTag != null && current.tags.containsKey(assetTag);
+    }
+
+    /** Tag-prefix matches first, in tag order; then assets where every query token prefixes a name or vendor-name token, best first. */
+    @Override public List<Long> search(String query, int limit) {
+        if (query == null || query.isBlank()) throw new IllegalArgumentException("Query required");
+        if (limit <= 0 || limit > MAX_LIMIT) throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        Index current = index;
+        if (current == null) throw new ServiceBusyException("Search index is still building");
+        long started = System.nanoTime();
+        String q = query.trim();
+        Set<Long> out = new LinkedHashSet<>();
+        for (Long id : prefixRange(current.tags, q).values()) { if (out.size() >= limit) break; out.add(id); }
+        String[] terms = tokens(q);
+        if (out.size() < limit && terms.length > 0) {
+            Set<Long> candidates = null;
+            // longer terms tend to be more selective, and every later term is cut off at the smallest set so far
+            for (String term : Arrays.stream(terms).sorted(Comparator.comparingInt(String::length).reversed()).toList()) {
+                Set<Long> matches = current.candidates(term, candidates == null ? Integer.MAX_VALUE : candidates.size());
+                if (matches != null) candidates = matches;
+            }
+            PriorityQueue<Hit> top = new PriorityQueue<>(Hit.BEST_FIRST.reversed());
+            for (Long id : candidates) {
+                if (out.contains(id)) continue;
+                Doc doc = current.docs.get(id);
+                int score = doc == null ? -1 : current.score(doc, terms);
+                if (score < 0) continue;
+                top.add(new Hit(id, score));
+                if (top.size() > limit - out.size()) top.poll();
+            }
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(Hit.BEST_FIRST);
+            for (Hit h : hits) out.add(h.id());
+        }
+        searches.increment();
+        searchNanos.add(System.nanoTime() - started);
+        return new ArrayList<>(out);
+    }
+
+    /** Reads the primary: a replica behind by a few writes would let a duplicate tag through until the next rebuild. */
+    @Override @Transactional @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.search.rebuild-interval-ms:600000}", fixedDelayString = "${app.search.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            long started = System.currentTimeMillis();
+            Index fresh = new Index();
+            building = fresh;
+            try (Stream<Object[]> rows = assetRepo.streamSearchRows()) {
+                rows.forEach(row -> fresh.put((Long) row[0], (String) row[1], (String) row[2], (Long) row[3], (String) row[4]));
+                index = fresh;
+            } finally {
+                building = null;
+            }
+            buildMillis = System.currentTimeMillis() - started;
+            builtAt = LocalDateTime.now();
+            log.info("Asset search index built: {} assets in {} ms", fresh.docs.size(), buildMillis);
+        }
+    }
+
+    @Override public Map<String, Object> getStats() {
+        Index current = index;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("ready", current != null);
+        stats.put("assets", current == null ? 0 : current.docs.size());
+        stats.put("nameTokens", current == null ? 0 : current.nameTokens.size());
+        stats.put("vendorTokens", current == null ? 0 : current.vendorTokens.size());
+        stats.put("builtAt", builtAt);
+        stats.put("buildMillis", buildMillis);
+        long n = searches.sum();
+        stats.put("searches", n);
+        stats.put("avgSearchMicros", n == 0 ? 0.0 : searchNanos.sum() / 1000.0 / n);
+        return stats;
+    }
+
+    static String[] tokens(String text) {
+        if (text == null) return new String[0];
+        return SEPARATORS.splitAsStream(text.toLowerCase(Locale.ROOT)).filter(t -> !t.isEmpty()).distinct().toArray(String[]::new);
+    }
+
+    private static <V> SortedMap<String, V> prefixRange(NavigableMap<String, V> map, String prefix) {
+        return map.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private static boolean anyStartsWith(String[] tokens, String term) {
+        for (String t : tokens) if (t.startsWith(term)) return true;
+        return false;
+    }
+
+    private record Doc(String tag, String[] nameTokens, Long vendorId) {}
+
+    private record Hit(long id, int score) {
+        static final Comparator<Hit> BEST_FIRST = Comparator.comparingInt(Hit::score).reversed().thenComparingLong(Hit::id);
+    }
+
+    private static final class Index {
+        final ConcurrentSkipListMap<String, Long> tags = new ConcurrentSkipListMap<>(String.CASE_INSENSITIVE_ORDER);
+        final ConcurrentSkipListMap<String, Set<Long>> nameTokens = new ConcurrentSkipListMap<>();
+        final ConcurrentSkipListMap<String, Set<Long>> vendorTokens = new ConcurrentSkipListMap<>();
+        final Map<Long, String[]> vendorNames = new ConcurrentHashMap<>();
+        final Map<Long, Set<Long>> vendorAssets = new ConcurrentHashMap<>();
+        final Map<Long, Doc> docs = new ConcurrentHashMap<>();
+
+        void put(long id, String tag, String name, Long vendorId, String vendorName) {
+            Doc doc = new Doc(tag, tokens(name), vendorId);
+            Doc old = docs.put(id, doc);
+            if (old != null) {
+                tags.remove(old.tag(), id);
+                for (String t : old.nameTokens()) postings(nameTokens, t).remove(id);
+                Set<Long> previous = old.vendorId() == null ? null : vendorAssets.get(old.vendorId());
+                if (previous != null) previous.remove(id);
+            }
+            tags.put(tag, id);
+            for (String t : doc.nameTokens()) postings(nameTokens, t).add(id);
+            if (vendorId == null) return;
+            vendorAssets.computeIfAbsent(vendorId, k -> ConcurrentHashMap.newKeySet()).add(id);
+            if (vendorName != null && !vendorNames.containsKey(vendorId) && vendorNames.putIfAbsent(vendorId, tokens(vendorName)) == null)
+                for (String t : vendorNames.get(vendorId)) postings(vendorTokens, t).add(vendorId);
+        }
+
+        /**
+         * Assets matching one query token, or null once the union grows past {@code bound} (a smaller set is already
+         * known). A token with a single posting set is returned as-is, without copying.
+         */
+        Set<Long> candidates(String term, int bound) {
+            SortedMap<String, Set<Long>> names = prefixRange(nameTokens, term), vendors = prefixRange(vendorTokens, term);
+            if (vendors.isEmpty() && names.size() == 1) {
+                Set<Long> only = names.values().iterator().next();
+                return only.size() > bound ? null : only;
+            }
+            Set<Long> out = new HashSet<>();
+            for (Set<Long> ids : names.values()) {
+                if (ids.size() > bound) return null;
+                out.addAll(ids);
+                if (out.size() > bound) return null;
+            }
+            for (Set<Long> vendorIds : vendors.values()) {
+                for (Long vendorId : vendorIds) {
+                    Set<Long> ids = vendorAssets.getOrDefault(vendorId, Set.of());
+                    if (ids.size() > bound) return null;
+                    out.addAll(ids);
+                    if (out.size() > bound) return null;
+                }
+            }
+            return out;
+        }
+
+        /** Per term: 3 for a whole name token, 2 for a name-token prefix, 1 for a vendor-name prefix; -1 if any term misses. */
+        int score(Doc doc, String[] terms) {
+            String[] vendor = doc.vendorId() == null ? null : vendorNames.get(doc.vendorId());
+            int score = 0;
+            for (String term : terms) {
+                int best = 0;
+                for (String t : doc.nameTokens()) if (t.startsWith(term)) best = Math.max(best, t.length() == term.length() ? 3 : 2);
+                if (best == 0 && vendor != null && anyStartsWith(vendor, term)) best = 1;
+                if (best == 0) return -1;
+                score += best;
+            }
+            return score;
+        }
+
+        private static Set<Long> postings(Map<String, Set<Long>> map, String token) { return map.computeIfAbsent(token, k -> ConcurrentHashMap.newKeySet()); }
+    }
+}
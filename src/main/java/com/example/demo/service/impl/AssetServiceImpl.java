@@ -1,28 +1,79 @@
 package com.example.demo.service.impl;
+import com.example.demo.dto.AssetPage;
+import com.example.demo.dto.AssetSummary;
+import com.example.demo.dto.AssetSummaryPage;
 import com.example.demo.entity.Asset;
 import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.repository.*;
+import com.example.demo.service.AssetSearchService;
 import com.example.demo.service.AssetService;
+import com.example.demo.service.AssetStatsService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class AssetServiceImpl implements AssetService {
+    static final int MAX_PAGE_SIZE = 1000;
     private final AssetRepository assetRepo;
     private final VendorRepository vendorRepo;
     private final DepreciationRuleRepository ruleRepo;
-    public AssetServiceImpl(AssetRepository assetRepo, VendorRepository vendorRepo, DepreciationRuleRepository ruleRepo) {
-        this.assetRepo = assetRepo; this.vendorRepo = vendorRepo; this.ruleRepo = ruleRepo;
+    private final AssetStatsService stats;
+    private final AssetSearchService search;
+    @PersistenceContext private EntityManager em;
+    public AssetServiceImpl(AssetRepository assetRepo, VendorRepository vendorRepo, DepreciationRuleRepository ruleRepo, AssetStatsService stats, AssetSearchService search) {
+        this.assetRepo = assetRepo; this.vendorRepo = vendorRepo; this.ruleRepo = ruleRepo; this.stats = stats; this.search = search;
     }
     @Override public Asset createAsset(Long vendorId, Long ruleId, Asset asset) {
         var vendor = vendorRepo.findById(vendorId).orElseThrow(() -> new ResourceNotFoundException("Vendor not found"));
         var rule = ruleRepo.findById(ruleId).orElseThrow(() -> new ResourceNotFoundException("Rule not found"));
         if (asset.getPurchaseCost() <= 0) throw new IllegalArgumentException("Invalid cost");
-        if (assetRepo.existsByAssetTag(asset.getAssetTag())) throw new IllegalArgumentException("Duplicate tag");
+        boolean duplicate = search.isReady() ? search.tagExists(asset.getAssetTag()) : assetRepo.existsByAssetTag(asset.getAssetTag());
+        if (duplicate) throw new IllegalArgumentException("Duplicate tag");
         asset.setVendor(vendor); asset.setDepreciationRule(rule);
-        return assetRepo.save(asset);
+        Asset saved;
+        try {
+            saved = assetRepo.save(asset);
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent create, or a tag written elsewhere since the index was built
+            if (assetRepo.existsByAssetTag(asset.getAssetTag())) throw new IllegalArgumentException("Duplicate tag");
+            throw e;
+        }
+        if (saved != null) stats.assetCreated(saved.getStatus(), vendor.getId(), vendor.getVendorName(), saved.getPurchaseCost());
+        if (saved != null) search.assetSaved(saved.getId(), saved.getAssetTag(), saved.getAssetName(), vendor.getId(), vendor.getVendorName());
+        return saved;
+    }
+    @Override @Transactional(readOnly = true) public Asset getAsset(Long id) { return assetRepo.findById(id).orElseThrow(() -> new ResourceNotFoundException("Asset not found")); }
+    @Override @Transactional(readOnly = true) public AssetSummaryPage getAssetSummaries(String status, Long afterId, int limit) {
+        long cursor = cursor(afterId, limit);
+        var page = PageRequest.ofSize(limit);
+        List<AssetSummary> items = status == null ? assetRepo.findSummariesAfter(cursor, page) : assetRepo.findSummariesByStatusAfter(status, cursor, page);
+        return new AssetSummaryPage(items, items.size() < limit ? null : items.get(items.size() - 1).id());
+    }
+    @Override @Transactional(readOnly = true) public AssetSummaryPage getAssetSummariesByVendor(Long vendorId, Long afterId, int limit) {
+        List<AssetSummary> items = assetRepo.findSummariesByVendorIdAfter(vendorId, cursor(afterId, limit), PageRequest.ofSize(limit));
+        return new AssetSummaryPage(items, items.size() < limit ? null : items.get(items.size() - 1).id());
+    }
+    @Override @Transactional(readOnly = true) public AssetPage getAssetPage(String status, Long afterId, int limit) {
+        long cursor = cursor(afterId, limit);
+        var page = PageRequest.ofSize(limit);
+        List<Asset> items = status == null ? assetRepo.findByIdGreaterThanOrderByIdAsc(cursor, page) : assetRepo.findByStatusAndIdGreaterThanOrderByIdAsc(status, cursor, page);
+        Long next = items.size() < limit ? null : items.get(items.size() - 1).getId();
+        return new AssetPage(items, next);
+    }
+    private static long cursor(Long afterId, int limit) {
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        return afterId == null ? 0L : afterId;
+    }
+    @Override @Transactional(readOnly = true) public void streamAssets(String status, Consumer<Asset> sink) {
+        try (Stream<Asset> rows = status == null ? assetRepo.streamAll() : assetRepo.streamByStatus(status)) {
+            rows.forEach(a -> { sink.accept(a); em.detach(a); });
+        }
     }
-    @Override public List<Asset> getAllAssets() { return assetRepo.findAll(); }
-    @Override public Asset getAsset(Long id) { return assetRepo.findById(id).orElseThrow(() -> new ResourceNotFoundException("Asset not found")); }
-    @Override public List<Asset> getAssetsByStatus(String status) { return assetRepo.findByStatus(status); }
 }
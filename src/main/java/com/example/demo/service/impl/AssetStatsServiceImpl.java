@@ -0,0 +1,151 @@
+package com.example.demo.service.impl;
+import com.example.demo.repository.AssetRepository;
+import com.example.demo.service.AssetStatsService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Dashboard counters grouped by status and vendor. Seeded from GROUP BY queries at startup, bumped by
+ * the write paths, and periodically replaced by a fresh GROUP BY to correct drift from writes made elsewhere.
+ * Bumps that arrive while the GROUP BY runs are also recorded separately and added to its result before the swap,
+ * so a reconcile never drops them; bumps hold the read side of a lock whose write side covers only the swap.
+ */
+@Service
+public class AssetStatsServiceImpl implements AssetStatsService {
+    static final String UNKNOWN = "UNKNOWN";
+    static final long NO_VENDOR = 0L;
+    private final AssetRepository assetRepo;
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final Lock reconcileLock = new ReentrantLock();
+    private volatile Counters counters = new Counters();
+    /** Bumps since the running reconcile started; null when none is running. Guarded by swapLock. */
+    private Counters sinceReconcile;
+
+    public AssetStatsServiceImpl(AssetRepository assetRepo) { this.assetRepo = assetRepo; }
+
+    @Override public void assetCreated(String status, Long vendorId, String vendorName, Double cost) {
+        double amount = cost == null ? 0.0 : cost;
+        apply(c -> {
+            c.byStatus.computeIfAbsent(status == null ? "ACTIVE" : status, k -> new Bucket()).add(1, amount);
+            c.byVendor.computeIfAbsent(vendorId == null ? NO_VENDOR : vendorId, k -> new Bucket()).add(1, amount);
+            if (vendorId != null && vendorName != null) c.vendorNames.putIfAbsent(vendorId, vendorName);
+        });
+    }
+
+    @Override public void statusChanged(String from, String to, Long vendorId, Double cost) {
+        if (from != null && from.equals(to)) return;
+        double amount = cost == null ? 0.0 : cost;
+        apply(c -> {
+            c.byStatus.computeIfAbsent(from == null ? UNKNOWN : from, k -> new Bucket()).add(-1, -amount);
+            c.byStatus.computeIfAbsent(to == null ? UNKNOWN : to, k -> new Bucket()).add(1, amount);
+        });
+    }
+
+    private void apply(Consumer<Counters> bump) {
+        swapLock.readLock().lock();
+        try {
+            bump.accept(counters);
+            if (sinceReconcile != null) bump.accept(sinceReconcile);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    @Override @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.stats.reconcile-interval-ms:300000}", fixedDelayString = "${app.stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        reconcileLock.lock();
+        try {
+            swap(() -> sinceReconcile = new Counters());
+            Counters fresh = new Counters();
+            try {
+                for (Object[] row : assetRepo.countByStatus())
+                    fresh.byStatus.put(row[0] == null ? UNKNOWN : (String) row[0], new Bucket((Long) row[1], ((Number) row[2]).doubleValue()));
+                for (Object[] row : assetRepo.countByVendor()) {
+                    long vendorId = row[0] == null ? NO_VENDOR : (Long) row[0];
+                    fresh.byVendor.put(vendorId, new Bucket((Long) row[2], ((Number) row[3]).doubleValue()));
+                    if (row[1] != null) fresh.vendorNames.put(vendorId, (String) row[1]);
+                }
+            } catch (RuntimeException e) {
+                swap(() -> sinceReconcile = null);
+                throw e;
+            }
+            fresh.reconciledAt = LocalDateTime.now();
+            swap(() -> { fresh.add(sinceReconcile); counters = fresh; sinceReconcile = null; });
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    private void swap(Runnable change) {
+        swapLock.writeLock().lock();
+        try { change.run(); } finally { swapLock.writeLock().unlock(); }
+    }
+
+    @Override public Map<String, Object> getSummary() {
+        Counters c = counters;
+        long count = 0; double cost = 0;
+        Map<String, Object> byStatus = new TreeMap<>();
+        for (var e : c.byStatus.entrySet()) {
+            long n = e.getValue().count.sum(); double v = e.getValue().cost.sum();
+            if (n == 0) continue;
+            byStatus.put(e.getKey(), Map.of("count", n, "totalCost", v));
+            count += n; cost += v;
+        }
+        List<Map<String, Object>> byVendor = new ArrayList<>();
+        for (var e : new TreeMap<>(c.byVendor).entrySet()) {
+            long n = e.getValue().count.sum();
+            if (n == 0) continue;
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("vendorId", e.getKey() == NO_VENDOR ? null : e.getKey());
+            row.put("vendorName", c.vendorNames.get(e.getKey()));
+            row.put("count", n);
+            row.put("totalCost", e.getValue().cost.sum());
+            byVendor.add(row);
+        }
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", count);
+        summary.put("totalCost", cost);
+        summary.put("byStatus", byStatus);
+        summary.put("byVendor", byVendor);
+        summary.put("reconciledAt", c.reconciledAt);
+        return summary;
+    }
+
+    private static final class Counters {
+        final Map<String, Bucket> byStatus = new ConcurrentHashMap<>();
+        final Map<Long, Bucket> byVendor = new ConcurrentHashMap<>();
+        final Map<Long, String> vendorNames = new ConcurrentHashMap<>();
+        volatile LocalDateTime reconciledAt;
+
+        void add(Counters delta) {
+            delta.byStatus.forEach((k, b) -> byStatus.computeIfAbsent(k, x -> new Bucket()).add(b.count.sum(), b.cost.sum()));
+            delta.byVendor.forEach((k, b) -> byVendor.computeIfAbsent(k, x -> new Bucket()).add(b.count.sum(), b.cost.sum()));
+            delta.vendorNames.forEach(vendorNames::putIfAbsent);
+        }
+    }
+
+    private static final class Bucket {
+        final LongAdder count = new LongAdder();
+        final DoubleAdder cost = new DoubleAdder();
+        Bucket() {}
+        Bucket(long n, double v) { add(n, v); }
+        void add(long n, double v) { count.add(n); cost.add(v); }
+    }
+}
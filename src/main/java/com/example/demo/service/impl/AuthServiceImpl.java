@@ -0,0 +1,79 @@
+package com.example.demo.service.impl;
+import com.example.demo.dto.AuthResponse;
+import com.example.demo.entity.Role;
+import com.example.demo.entity.User;
+import com.example.demo.exception.ServiceBusyException;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.AuthService;
+import com.example.demo.util.JwtUtil;
+import com.example.demo.util.LatencyHistogram;
+import com.example.demo.util.PasswordHasher;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+@Service
+public class AuthServiceImpl implements AuthService {
+    private final UserRepository userRepo;
+    private final PasswordHasher hasher;
+    private final JwtUtil jwtUtil;
+    /** Checked when the email is unknown so both outcomes cost one BCrypt verification. */
+    private final String unknownUserHash;
+    /** Canonical immutable role-name sets; there are only a handful of distinct combinations. */
+    private final Map<Set<String>, Set<String>> roleSets = new ConcurrentHashMap<>();
+    private final LatencyHistogram succeeded = new LatencyHistogram();
+    private final LatencyHistogram failed = new LatencyHistogram();
+    private final LatencyHistogram rejected = new LatencyHistogram();
+
+    public AuthServiceImpl(UserRepository userRepo, PasswordHasher hasher, JwtUtil jwtUtil, PasswordEncoder encoder) {
+        this.userRepo = userRepo; this.hasher = hasher; this.jwtUtil = jwtUtil;
+        this.unknownUserHash = encoder.encode("unknown-user-" + System.nanoTime());
+    }
+
+    @Override
+    public CompletableFuture<AuthResponse> login(String email, String password) {
+        long start = System.nanoTime();
+        if (email == null || password == null) return record(CompletableFuture.failedFuture(new BadCredentialsException("Invalid credentials")), start);
+        User user = userRepo.findByEmail(email).orElse(null);
+        Set<String> roles = user == null ? Set.of() : roleNames(user);
+        CompletableFuture<AuthResponse> result = hasher.matchesAsync(password, user == null ? unknownUserHash : user.getPassword()).thenApply(ok -> {
+            if (!ok || user == null) throw new BadCredentialsException("Invalid credentials");
+            return new AuthResponse(jwtUtil.generateToken(user.getEmail(), user.getId(), roles), user.getId(), user.getEmail(), roles);
+        });
+        return record(result, start);
+    }
+
+    private Set<String> roleNames(User user) {
+        Set<String> names = user.getRoles().stream().map(Role::getName).collect(Collectors.toSet());
+        return roleSets.computeIfAbsent(names, Set::copyOf);
+    }
+
+    private CompletableFuture<AuthResponse> record(CompletableFuture<AuthResponse> future, long start) {
+        return future.whenComplete((response, error) -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            LatencyHistogram h = cause == null ? succeeded : cause instanceof ServiceBusyException || cause instanceof TimeoutException ? rejected : failed;
+            h.record(System.nanoTime() - start);
+        });
+    }
+
+    @Override
+    public Map<String, Object> getLoginStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("succeeded", succeeded.snapshot());
+        stats.put("failed", failed.snapshot());
+        stats.put("rejected", rejected.snapshot());
+        stats.put("hash", hasher.getHashLatency().snapshot());
+        stats.put("hashPoolSize", hasher.getPoolSize());
+        stats.put("hashActive", hasher.getActiveCount());
+        stats.put("hashQueueDepth", hasher.getQueueDepth());
+        return stats;
+    }
+}
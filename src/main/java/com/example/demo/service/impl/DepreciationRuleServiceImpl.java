@@ -3,6 +3,7 @@ import com.example.demo.entity.DepreciationRule;
 import com.example.demo.repository.DepreciationRuleRepository;
 import com.example.demo.service.DepreciationRuleService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 
 @Service
@@ -15,5 +16,5 @@ public class DepreciationRuleServiceImpl implements DepreciationRuleService {
         if (!"STRAIGHT_LINE".equals(rule.getMethod()) && !"DECLINING_BALANCE".equals(rule.getMethod())) throw new IllegalArgumentException("Invalid method");
         return repository.save(rule);
     }
-    @Override public List<DepreciationRule> getAllRules() { return repository.findAll(); }
+    @Override @Transactional(readOnly = true) public List<DepreciationRule> getAllRules() { return repository.findAll(); }
 }
@@ -0,0 +1,111 @@
+package com.example.demo.service.impl;
+import com.example.demo.dto.AssetValuation;
+import com.example.demo.dto.DepreciationPeriod;
+import com.example.demo.dto.HistoricalValuation;
+import com.example.demo.dto.PortfolioValuation;
+import com.example.demo.entity.Asset;
+import com.example.demo.entity.DepreciationRule;
+import com.example.demo.exception.ResourceNotFoundException;
+import com.example.demo.repository.AssetRepository;
+import com.example.demo.repository.DepreciationRuleRepository;
+import com.example.demo.service.DepreciationService;
+import com.example.demo.util.DepreciationCalculator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@Service
+public class DepreciationServiceImpl implements DepreciationService {
+    private static final Logger log = LoggerFactory.getLogger(DepreciationServiceImpl.class);
+    private final AssetRepository assetRepo;
+    private final DepreciationRuleRepository ruleRepo;
+    private final ValuationCheckpoints checkpoints;
+    public DepreciationServiceImpl(AssetRepository assetRepo, DepreciationRuleRepository ruleRepo, ValuationCheckpoints checkpoints) {
+        this.assetRepo = assetRepo; this.ruleRepo = ruleRepo; this.checkpoints = checkpoints;
+    }
+
+    @Override public AssetValuation valueAsset(Long assetId, LocalDate asOf) {
+        Asset asset = assetRepo.findById(assetId).orElseThrow(() -> new ResourceNotFoundException("Asset not found"));
+        LocalDate date = asOf == null ? LocalDate.now() : asOf;
+        double cost = asset.getPurchaseCost() == null ? 0.0 : asset.getPurchaseCost();
+        double book = cost;
+        DepreciationRule rule = asset.getDepreciationRule();
+        if (rule != null && asset.getPurchaseDate() != null) {
+            long months = DepreciationCalculator.elapsedMonths(asset.getPurchaseDate().toEpochDay(), date.toEpochDay());
+            book = DepreciationCalculator.bookValue(cost, DepreciationCalculator.methodCode(rule.getMethod()), rule.getUsefulLifeYears(), salvage(rule), months);
+        }
+        return new AssetValuation(asset.getId(), date, cost, cost - book, book);
+    }
+
+    @Override public List<DepreciationPeriod> getSchedule(Long assetId) {
+        Asset asset = assetRepo.findById(assetId).orElseThrow(() -> new ResourceNotFoundException("Asset not found"));
+        DepreciationRule rule = asset.getDepreciationRule();
+        if (rule == null) throw new IllegalArgumentException("Asset has no depreciation rule");
+        double cost = asset.getPurchaseCost() == null ? 0.0 : asset.getPurchaseCost();
+        LocalDate start = asset.getPurchaseDate() == null ? LocalDate.now() : asset.getPurchaseDate();
+        List<double[]> rows = DepreciationCalculator.yearlySchedule(cost, DepreciationCalculator.methodCode(rule.getMethod()), rule.getUsefulLifeYears(), salvage(rule));
+        List<DepreciationPeriod> schedule = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            double[] r = rows.get(i);
+            schedule.add(new DepreciationPeriod(i + 1, start.plusYears(i), r[0], r[1], r[2]));
+        }
+        return schedule;
+    }
+
+    @Override @Transactional(readOnly = true) public PortfolioValuation valuePortfolio(LocalDate asOf) {
+        LocalDate date = asOf == null ? LocalDate.now() : asOf;
+        List<DepreciationRule> rules = ruleRepo.findAll();
+        Map<Long, Integer> ruleIndex = new HashMap<>();
+        List<Long> skipped = new ArrayList<>();
+        byte[] method = new byte[rules.size()]; int[] life = new int[rules.size()]; double[] salvage = new double[rules.size()];
+        for (int i = 0; i < rules.size(); i++) {
+            DepreciationRule r = rules.get(i);
+            try { method[i] = DepreciationCalculator.methodCode(r.getMethod()); }
+            catch (IllegalArgumentException unknownMethod) { skipped.add(r.getId()); continue; }
+            ruleIndex.put(r.getId(), i);
+            life[i] = r.getUsefulLifeYears() == null ? 0 : r.getUsefulLifeYears();
+            salvage[i] = salvage(r);
+        }
+        if (!skipped.isEmpty()) log.warn("Depreciation rules {} have an unknown method; their assets are valued at cost", skipped);
+        int n = 0, capacity = 1024;
+        double[] cost = new double[capacity]; long[] purchased = new long[capacity]; int[] ruleOf = new int[capacity];
+        try (Stream<Object[]> rows = assetRepo.streamValuationRows(date)) {
+            for (var it = rows.iterator(); it.hasNext(); n++) {
+                Object[] row = it.next();
+                if (n == capacity) {
+                    capacity += capacity >> 1;
+                    cost = Arrays.copyOf(cost, capacity); purchased = Arrays.copyOf(purchased, capacity); ruleOf = Arrays.copyOf(ruleOf, capacity);
+                }
+                cost[n] = row[0] == null ? 0.0 : (Double) row[0];
+                LocalDate purchaseDate = (LocalDate) row[1];
+                purchased[n] = purchaseDate == null ? date.toEpochDay() : purchaseDate.toEpochDay();
+                ruleOf[n] = row[2] == null ? -1 : ruleIndex.getOrDefault((Long) row[2], -1);
+            }
+        }
+        double[] book = new double[n];
+        DepreciationCalculator.bookValues(cost, purchased, ruleOf, n, method, life, salvage, date.toEpochDay(), book);
+        double totalCost = 0, totalBook = 0;
+        for (int i = 0; i < n; i++) { totalCost += cost[i]; totalBook += book[i]; }
+        return new PortfolioValuation(date, n, totalCost, totalCost - totalBook, totalBook, skipped);
+    }
+
+    @Override public HistoricalValuation valueHistorical(LocalDate asOf, Long vendorId) {
+        if (asOf == null) throw new IllegalArgumentException("asOf is required");
+        if (asOf.isAfter(LocalDate.now())) throw new IllegalArgumentException("asOf must not be in the future");
+        return checkpoints.valueAsOf(asOf, vendorId);
+    }
+
+    @Override public List<Map<String, Object>> getCheckpoints() { return checkpoints.list(); }
+
+    @Override public List<Map<String, Object>> checkpointNow() { checkpoints.checkpoint(); return checkpoints.list(); }
+
+    private static double salvage(DepreciationRule rule) { return rule.getSalvageValue() == null ? 0.0 : rule.getSalvageValue(); }
+}
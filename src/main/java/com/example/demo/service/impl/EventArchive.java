@@ -0,0 +1,263 @@
+package com.example.demo.service.impl;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Cold tier for lifecycle events. Each archival run moves events older than the configured age into one new
+ * immutable segment file: records sorted by (asset, id), deflated in blocks, with a sparse block index of asset
+ * ranges in the footer. Segments are memory-mapped for reads. Rows are deleted from the database in small
+ * chunks only after the segment is durable; a crash in between leaves duplicates, which readers drop by id.
+ */
+@Component
+public class EventArchive {
+    private static final Logger log = LoggerFactory.getLogger(EventArchive.class);
+    static final int MAGIC = 0x45565347, FORMAT = 1, INDEX_ENTRY = 36;
+    static final String SELECT_SQL = "select id, asset_id, event_type, event_description, event_date, logged_at from asset_lifecycle_events where event_date < ? order by id limit ?";
+
+    public record ArchivedEvent(long id, long assetId, String eventType, String eventDescription, LocalDate eventDate, LocalDateTime loggedAt) {}
+    record BlockRef(long firstAssetId, long lastAssetId, long offset, int compressedLength, int rawLength, int records) {}
+    record Segment(Path path, FileChannel channel, MappedByteBuffer data, BlockRef[] blocks, long records) {}
+
+    private final JdbcTemplate jdbc;
+    private final boolean enabled;
+    private final Path dir;
+    private final int maxAgeDays, maxRowsPerRun, deleteChunk, blockRecords;
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    public EventArchive(JdbcTemplate jdbc,
+                        @Value("${app.events.archive.enabled:false}") boolean enabled,
+                        @Value("${app.events.archive.dir:${java.io.tmpdir}/asset-events-archive}") String dir,
+                        @Value("${app.events.archive.max-age-days:730}") int maxAgeDays,
+                        @Value("${app.events.archive.max-rows-per-run:200000}") int maxRowsPerRun,
+                        @Value("${app.events.archive.delete-chunk:1000}") int deleteChunk,
+                        @Value("${app.events.archive.block-records:256}") int blockRecords) {
+        this.jdbc = jdbc; this.enabled = enabled; this.dir = Path.of(dir); this.maxAgeDays = maxAgeDays;
+        this.maxRowsPerRun = Math.max(1, maxRowsPerRun); this.deleteChunk = Math.max(1, deleteChunk); this.blockRecords = Math.max(1, blockRecords);
+    }
+
+    @PostConstruct void open() throws IOException {
+        if (!Files.isDirectory(dir)) return;
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path p : files.filter(f -> f.getFileName().toString().endsWith(".seg")).sorted().toList()) {
+                try { segments.add(map(p)); }
+                catch (IOException | RuntimeException e) { log.error("Skipping unreadable event segment {}", p, e); }
+            }
+        }
+        if (!segments.isEmpty()) log.info("Mapped {} event archive segments", segments.size());
+    }
+
+    @Scheduled(initialDelayString = "${app.events.archive.interval-ms:3600000}", fixedDelayString = "${app.events.archive.interval-ms:3600000}")
+    void scheduledRun() { if (enabled) archive(); }
+
+    /** Archives one run's worth of eligible rows; returns how many rows moved to the cold tier. */
+    public int archive() {
+        if (!runLock.tryLock()) return 0;
+        try {
+            LocalDate cutoff = LocalDate.now().minusDays(maxAgeDays);
+            List<ArchivedEvent> rows = jdbc.query(SELECT_SQL, (rs, i) -> {
+                Date d = rs.getDate(5); Timestamp t = rs.getTimestamp(6);
+                return new ArchivedEvent(rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getString(4), d == null ? null : d.toLocalDate(), t == null ? null : t.toLocalDateTime());
+            }, Date.valueOf(cutoff), maxRowsPerRun);
+            if (rows.isEmpty()) return 0;
+            Segment segment = write(rows);
+            segments.add(segment);
+            int deleted = 0;
+            for (int from = 0; from < rows.size(); from += deleteChunk) {
+                List<ArchivedEvent> chunk = rows.subList(from, Math.min(rows.size(), from + deleteChunk));
+                deleted += jdbc.update("delete from asset_lifecycle_events where id in (" + "?,".repeat(chunk.size() - 1) + "?)", chunk.stream().map(ArchivedEvent::id).toArray());
+            }
+            log.info("Archived {} lifecycle events dated before {} into {} ({} deleted)", rows.size(), cutoff, segment.path().getFileName(), deleted);
+            return rows.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Event archival failed", e);
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    /** Archived events for one asset, newest segment first; callers dedupe against hot rows by id. */
+    public List<ArchivedEvent> read(long assetId) {
+        List<ArchivedEvent> out = new ArrayList<>();
+        for (int s = segments.size() - 1; s >= 0; s--) {
+            Segment segment = segments.get(s);
+            BlockRef[] blocks = segment.blocks();
+            int lo = 0, hi = blocks.length;
+            while (lo < hi) { int mid = (lo + hi) >>> 1; if (blocks[mid].lastAssetId() < assetId) lo = mid + 1; else hi = mid; }
+            for (int b = lo; b < blocks.length && blocks[b].firstAssetId() <= assetId; b++) {
+                try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(inflate(segment, blocks[b])))) {
+                    for (int r = 0; r < blocks[b].records(); r++) {
+                        ArchivedEvent e = readRecord(in);
+                        if (e.assetId() == assetId) out.add(e);
+                        else if (e.assetId() > assetId) break;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Corrupt event segment " + segment.path(), e);
+                }
+            }
+        }
+        return out;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long records = 0, bytes = 0;
+        for (Segment s : segments) { records += s.records(); bytes += s.data().capacity(); }
+        stats.put("enabled", enabled);
+        stats.put("segments", segments.size());
+        stats.put("archivedRecords", records);
+        stats.put("archivedBytes", bytes);
+        stats.put("maxAgeDays", maxAgeDays);
+        return stats;
+    }
+
+    private Segment write(List<ArchivedEvent> rows) throws IOException {
+        rows.sort(Comparator.comparingLong(ArchivedEvent::assetId).thenComparingLong(ArchivedEvent::id));
+        Files.createDirectories(dir);
+        Path target = dir.resolve(String.format("events-%013d-%013d.seg", System.currentTimeMillis(), rows.get(0).id()));
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        List<BlockRef> index = new ArrayList<>();
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeFully(ch, ByteBuffer.allocate(8).putInt(MAGIC).putInt(FORMAT).flip());
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try {
+                for (int from = 0; from < rows.size(); from += blockRecords) {
+                    List<ArchivedEvent> block = rows.subList(from, Math.min(rows.size(), from + blockRecords));
+                    ByteArrayOutputStream raw = new ByteArrayOutputStream(block.size() * 96);
+                    DataOutputStream out = new DataOutputStream(raw);
+                    for (ArchivedEvent e : block) writeRecord(out, e);
+                    byte[] compressed = deflate(deflater, raw.toByteArray());
+                    index.add(new BlockRef(block.get(0).assetId(), block.get(block.size() - 1).assetId(), ch.position(), compressed.length, raw.size(), block.size()));
+                    writeFully(ch, ByteBuffer.wrap(compressed));
+                }
+            } finally {
+                deflater.end();
+            }
+            long indexOffset = ch.position();
+            ByteBuffer idx = ByteBuffer.allocate(4 + index.size() * INDEX_ENTRY + 12);
+            idx.putInt(index.size());
+            for (BlockRef b : index) idx.putLong(b.firstAssetId()).putLong(b.lastAssetId()).putLong(b.offset()).putInt(b.compressedLength()).putInt(b.rawLength()).putInt(b.records());
+            idx.putLong(indexOffset).putInt(MAGIC);
+            writeFully(ch, idx.flip());
+            ch.force(true);
+        }
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+        return map(target);
+    }
+
+    private static Segment map(Path path) throws IOException {
+        FileChannel ch = FileChannel.open(path, StandardOpenOption.READ);
+        MappedByteBuffer data = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+        if (data.capacity() < 20 || data.getInt(0) != MAGIC || data.getInt(data.capacity() - 4) != MAGIC) { ch.close(); throw new IOException("Not an event segment: " + path); }
+        int at = (int) data.getLong(data.capacity() - 12);
+        int count = data.getInt(at);
+        BlockRef[] blocks = new BlockRef[count];
+        long records = 0;
+        at += 4;
+        for (int i = 0; i < count; i++, at += INDEX_ENTRY) {
+            blocks[i] = new BlockRef(data.getLong(at), data.getLong(at + 8), data.getLong(at + 16), data.getInt(at + 24), data.getInt(at + 28), data.getInt(at + 32));
+            records += blocks[i].records();
+        }
+        return new Segment(path, ch, data, blocks, records);
+    }
+
+    private static byte[] inflate(Segment segment, BlockRef block) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(segment.data().slice((int) block.offset(), block.compressedLength()));
+            byte[] raw = new byte[block.rawLength()];
+            int n = 0;
+            while (n < raw.length && !inflater.finished()) n += inflater.inflate(raw, n, raw.length - n);
+            if (n != raw.length) throw new IOException("Short block in " + segment.path());
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt block in " + segment.path(), e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static byte[] deflate(Deflater deflater, byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 3 + 64);
+        byte[] buf = new byte[8192];
+        while (!deflater.finished()) out.write(buf, 0, deflater.deflate(buf));
+        return out.toByteArray();
+    }
+
+    private static void writeRecord(DataOutputStream out, ArchivedEvent e) throws IOException {
+        out.writeLong(e.id()); out.writeLong(e.assetId());
+        writeString(out, e.eventType()); writeString(out, e.eventDescription());
+        out.writeLong(e.eventDate() == null ? Long.MIN_VALUE : e.eventDate().toEpochDay());
+        out.writeLong(e.loggedAt() == null ? Long.MIN_VALUE : e.loggedAt().toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(e.loggedAt() == null ? 0 : e.loggedAt().getNano());
+    }
+
+    private static ArchivedEvent readRecord(DataInputStream in) throws IOException {
+        long id = in.readLong(), assetId = in.readLong();
+        String type = readString(in), description = readString(in);
+        long day = in.readLong(), seconds = in.readLong();
+        int nanos = in.readInt();
+        return new ArchivedEvent(id, assetId, type, description, day == Long.MIN_VALUE ? null : LocalDate.ofEpochDay(day),
+                seconds == Long.MIN_VALUE ? null : LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC));
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) { out.writeInt(-1); return; }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int n = in.readInt();
+        if (n < 0) return null;
+        byte[] bytes = new byte[n];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeFully(FileChannel ch, ByteBuffer buf) throws IOException { while (buf.hasRemaining()) ch.write(buf); }
+
+    @PreDestroy void close() {
+        for (Segment s : segments) { try { s.channel().close(); } catch (IOException e) { log.debug("Closing {} failed", s.path(), e); } }
+    }
+}
@@ -0,0 +1,253 @@
+package com.example.demo.service.impl;
+import com.example.demo.dto.EventFeedFilter;
+import com.example.demo.dto.FeedEvent;
+import com.example.demo.exception.ServiceBusyException;
+import com.example.demo.repository.AssetLifecycleEventRepository;
+import com.example.demo.service.EventFeedService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tails the committed lifecycle log by id and fans new rows out to subscribers. Rows are released strictly in id
+ * order; an id that is missing (an uncommitted or rolled-back insert) holds later rows back for at most the gap
+ * timeout. Ids passed over that way are re-read on every poll for the late window and delivered, out of order, if
+ * their insert commits; a subscriber still catching up may see such a row twice, so consumers dedupe by id. Each
+ * subscriber has a bounded queue drained on a small sender pool and is dropped when it overflows.
+ */
+@Service
+public class EventFeedServiceImpl implements EventFeedService {
+    private static final Logger log = LoggerFactory.getLogger(EventFeedServiceImpl.class);
+    private static final Object HEARTBEAT = new Object();
+    private static final EventFeedFilter ALL = new EventFeedFilter(null, null, null);
+
+    private final AssetLifecycleEventRepository eventRepo;
+    private final int bufferSize, pageSize, maxSubscribers;
+    private final long pollIntervalMs, gapTimeoutMs, heartbeatMs, lateWindowMs;
+    private final int maxLateIds;
+    private final ExecutorService senders;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Object releaseLock = new Object();
+    private final TreeMap<Long, FeedEvent> pending = new TreeMap<>();
+    /** Skipped id -> when it was skipped; guarded by releaseLock. */
+    private final TreeMap<Long, Long> late = new TreeMap<>();
+    private volatile long releasedUpTo;
+    private long gapSince;
+    private final LongAdder delivered = new LongAdder(), dropped = new LongAdder(), skippedIds = new LongAdder(),
+            lateDelivered = new LongAdder(), abandonedIds = new LongAdder();
+    private volatile boolean running = true;
+    private Thread poller;
+
+    public EventFeedServiceImpl(AssetLifecycleEventRepository eventRepo,
+                                @Value("${app.events.feed.buffer-size:1000}") int bufferSize,
+                                @Value("${app.events.feed.page-size:1000}") int pageSize,
+                                @Value("${app.events.feed.max-subscribers:1000}") int maxSubscribers,
+                                @Value("${app.events.feed.poll-interval-ms:200}") long pollIntervalMs,
+                                @Value("${app.events.feed.gap-timeout-ms:1000}") long gapTimeoutMs,
+                                @Value("${app.events.feed.late-window-ms:60000}") long lateWindowMs,
+                                @Value("${app.events.feed.max-late-ids:10000}") int maxLateIds,
+                                @Value("${app.events.feed.heartbeat-ms:15000}") long heartbeatMs,
+                                @Value("${app.events.feed.sender-threads:4}") int senderThreads) {
+        this.eventRepo = eventRepo; this.bufferSize = Math.max(1, bufferSize); this.pageSize = Math.max(1, pageSize); this.maxSubscribers = maxSubscribers;
+        this.pollIntervalMs = pollIntervalMs; this.gapTimeoutMs = gapTimeoutMs; this.heartbeatMs = heartbeatMs;
+        this.lateWindowMs = lateWindowMs; this.maxLateIds = Math.max(0, maxLateIds);
+        AtomicInteger counter = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(Math.max(1, senderThreads), r -> {
+            Thread t = new Thread(r, "event-feed-sender-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class) void start() {
+        poller = new Thread(this::runPoller, "event-feed-poller");
+        poller.setDaemon(true);
+        poller.start();
+    }
+
+    @Override public Subscription subscribe(EventFeedFilter filter, Long afterId, Sink sink) {
+        synchronized (releaseLock) {
+            if (subscribers.size() >= maxSubscribers) throw new ServiceBusyException("Too many event feed subscribers");
+            if (subscribers.isEmpty() && pending.isEmpty()) releasedUpTo = Math.max(releasedUpTo, eventRepo.findMaxId());
+            long start = afterId == null ? releasedUpTo : Math.max(0, afterId);
+            Subscriber s = new Subscriber(filter == null ? ALL : filter, start, Math.max(start, releasedUpTo), sink);
+            subscribers.add(s);
+            s.schedule();
+            return s;
+        }
+    }
+
+    @Override public Map<String, Object> getFeedStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("subscribers", subscribers.size());
+        stats.put("releasedUpTo", releasedUpTo);
+        synchronized (releaseLock) { stats.put("pending", pending.size()); stats.put("lateIds", late.size()); }
+        stats.put("delivered", delivered.sum());
+        stats.put("droppedSubscribers", dropped.sum());
+        stats.put("skippedIds", skippedIds.sum());
+        stats.put("lateDelivered", lateDelivered.sum());
+        stats.put("abandonedIds", abandonedIds.sum());
+        return stats;
+    }
+
+    private void runPoller() {
+        long lastHeartbeat = System.currentTimeMillis();
+        while (running) {
+            try {
+                if (!subscribers.isEmpty()) {
+                    releaseLate();
+                    List<FeedEvent> rows = eventRepo.findFeed(releasedUpTo, Long.MAX_VALUE, null, null, null, PageRequest.of(0, pageSize));
+                    if (release(rows) && rows.size() == pageSize) continue;
+                    long now = System.currentTimeMillis();
+                    if (now - lastHeartbeat >= heartbeatMs) { lastHeartbeat = now; for (Subscriber s : subscribers) s.offer(HEARTBEAT); }
+                }
+                Thread.sleep(pollIntervalMs);
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Event feed poll failed", e);
+                try { Thread.sleep(Math.max(pollIntervalMs, 1000)); } catch (InterruptedException ie) { return; }
+            }
+        }
+    }
+
+    /** Releases contiguous rows to subscribers; returns true when nothing is held back behind a gap. */
+    private boolean release(List<FeedEvent> rows) {
+        long now = System.currentTimeMillis();
+        synchronized (releaseLock) {
+            for (FeedEvent e : rows) if (e.id() > releasedUpTo) pending.putIfAbsent(e.id(), e);
+            while (!pending.isEmpty()) {
+                long next = pending.firstKey();
+                if (next != releasedUpTo + 1) {
+                    if (gapSince == 0) gapSince = now;
+                    if (now - gapSince < gapTimeoutMs) return false;
+                    skippedIds.add(next - releasedUpTo - 1);
+                    for (long id = releasedUpTo + 1; id < next; id++) {
+                        if (late.size() >= maxLateIds) { abandonedIds.add(next - id); break; }
+                        late.put(id, now);
+                    }
+                }
+                gapSince = 0;
+                FeedEvent e = pending.pollFirstEntry().getValue();
+                releasedUpTo = e.id();
+                for (Subscriber s : subscribers) s.offer(e);
+            }
+            return true;
+        }
+    }
+
+    /** Delivers skipped ids whose inserts have committed since, and gives up on those older than the late window. */
+    private void releaseLate() {
+        List<Long> ids = new ArrayList<>();
+        synchronized (releaseLock) {
+            long now = System.currentTimeMillis();
+            for (Iterator<Long> it = late.values().iterator(); it.hasNext(); )
+                if (now - it.next() > lateWindowMs) { it.remove(); abandonedIds.increment(); }
+            for (Long id : late.keySet()) { if (ids.size() == pageSize) break; ids.add(id); }
+        }
+        if (ids.isEmpty()) return;
+        List<FeedEvent> rows = eventRepo.findFeedByIds(ids);
+        synchronized (releaseLock) {
+            for (FeedEvent e : rows) {
+                if (late.remove(e.id()) == null) continue;
+                lateDelivered.increment();
+                for (Subscriber s : subscribers) s.offer(e);
+            }
+        }
+    }
+
+    @PreDestroy void shutdown() {
+        running = false;
+        if (poller != null) poller.interrupt();
+        for (Subscriber s : subscribers) s.close("server shutting down", true);
+        senders.shutdownNow();
+    }
+
+    private final class Subscriber implements Subscription {
+        private final EventFeedFilter filter;
+        private final long startAfter, catchUpTo;
+        private final Sink sink;
+        private final ArrayBlockingQueue<Object> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean closed;
+        private boolean caughtUp;
+
+        Subscriber(EventFeedFilter filter, long startAfter, long catchUpTo, Sink sink) {
+            this.filter = filter; this.startAfter = startAfter; this.catchUpTo = catchUpTo; this.sink = sink;
+        }
+
+        void offer(Object item) {
+            if (closed) return;
+            if (item instanceof FeedEvent e && (e.id() <= startAfter || !filter.matches(e))) return;
+            if (!queue.offer(item)) { dropped.increment(); close("subscriber fell more than " + bufferSize + " events behind", true); return; }
+            schedule();
+        }
+
+        void schedule() {
+            if (closed || !scheduled.compareAndSet(false, true)) return;
+            try { senders.execute(this::drain); }
+            catch (RejectedExecutionException e) { scheduled.set(false); close("server shutting down", true); }
+        }
+
+        private void drain() {
+            try {
+                if (!caughtUp) { catchUp(); caughtUp = true; }
+                Object item;
+                while (!closed && (item = queue.poll()) != null) {
+                    if (item == HEARTBEAT) sink.heartbeat();
+                    else { sink.send((FeedEvent) item); delivered.increment(); }
+                }
+            } catch (IOException | RuntimeException e) {
+                close("send failed: " + e.getMessage(), false);
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+            if (!queue.isEmpty()) schedule();
+        }
+
+        /** Replays committed rows between the resume cursor and the live position from the database. */
+        private void catchUp() throws IOException {
+            long cursor = startAfter;
+            while (!closed && cursor < catchUpTo) {
+                List<FeedEvent> page = eventRepo.findFeed(cursor, catchUpTo, filter.assetId(), filter.eventType(), filter.vendorId(), PageRequest.of(0, pageSize));
+                if (page.isEmpty()) return;
+                for (FeedEvent e : page) { sink.send(e); delivered.increment(); }
+                cursor = page.get(page.size() - 1).id();
+            }
+        }
+
+        @Override public void cancel() { close(null, false); }
+
+        void close(String reason, boolean notifySink) {
+            if (closed) return;
+            closed = true;
+            subscribers.remove(this);
+            queue.clear();
+            if (notifySink) {
+                try { sink.close(reason); } catch (RuntimeException e) { log.debug("Closing feed subscriber failed", e); }
+            }
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package com.example.demo.service.impl;
+import com.example.demo.exception.ServiceBusyException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Write-behind path for lifecycle events. Accepted events are appended to a local journal, queued, and
+ * inserted in multi-row JDBC batches by a single writer thread. The journal is forced to disk before every batch
+ * (and when idle), so an accepted event is durable within one flush interval. On startup anything past the last
+ * committed sequence is replayed, retrying until the database takes it; new events are refused until then, so the
+ * checkpoint never moves past an entry that is still only in the journal. The journal is split into segments of
+ * {@code segment-events} entries named by their first sequence; a closed segment is deleted as soon as the checkpoint
+ * passes its last entry, so under sustained load the journal stays about one segment long.
+ */
+@Component
+@ConditionalOnProperty(name = "app.events.async.enabled", havingValue = "true")
+public class EventWriteBehindBuffer {
+    private static final Logger log = LoggerFactory.getLogger(EventWriteBehindBuffer.class);
+    static final String INSERT_SQL = "insert into asset_lifecycle_events (asset_id, event_type, event_description, event_date, logged_at) values (?, ?, ?, ?, ?)";
+
+    public record PendingEvent(long seq, long assetId, String eventType, String eventDescription, LocalDate eventDate, LocalDateTime loggedAt) {}
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final BlockingQueue<PendingEvent> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long offerTimeoutMs;
+    private final long segmentEvents;
+    private final Path spillDir;
+    private final Path checkpointPath;
+    /** A lock rather than a monitor so journal I/O does not pin carrier threads when requests run on virtual threads. */
+    private final ReentrantLock journalLock = new ReentrantLock();
+    /** First sequence of each journal segment to its file, oldest first; the last one is open for appends. */
+    private final TreeMap<Long, Path> segments = new TreeMap<>();
+    private FileChannel journal;
+    private long lastSeq;
+    private long replayUpTo;
+    private volatile long committedSeq;
+    private volatile boolean replayed;
+    private volatile boolean running = true;
+    private Thread writer;
+
+    public EventWriteBehindBuffer(JdbcTemplate jdbc, PlatformTransactionManager txManager,
+                                  @Value("${app.events.async.queue-capacity:10000}") int capacity,
+                                  @Value("${app.events.async.batch-size:500}") int batchSize,
+                                  @Value("${app.events.async.flush-interval-ms:200}") long flushIntervalMs,
+                                  @Value("${app.events.async.offer-timeout-ms:50}") long offerTimeoutMs,
+                                  @Value("${app.events.async.segment-events:10000}") long segmentEvents,
+                                  @Value("${app.events.async.spill-dir:${java.io.tmpdir}/asset-events}") String spillDir) {
+        this.jdbc = jdbc; this.tx = new TransactionTemplate(txManager); this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = Math.max(1, batchSize); this.flushIntervalMs = flushIntervalMs; this.offerTimeoutMs = offerTimeoutMs;
+        this.segmentEvents = Math.max(1, segmentEvents);
+        this.spillDir = Path.of(spillDir); this.checkpointPath = this.spillDir.resolve("events.checkpoint");
+    }
+
+    @PostConstruct void open() throws IOException {
+        Files.createDirectories(spillDir);
+        committedSeq = Files.exists(checkpointPath) ? Long.parseLong(Files.readString(checkpointPath).trim()) : 0L;
+        lastSeq = committedSeq;
+        try (Stream<Path> files = Files.list(spillDir)) {
+            files.forEach(f -> { Long first = segmentStart(f); if (first != null) segments.put(first, f); });
+        }
+        if (!segments.isEmpty()) {
+            try (BufferedReader in = Files.newBufferedReader(segments.lastEntry().getValue(), StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = in.readLine()) != null) if (line.indexOf('\t') > 0) lastSeq = Math.max(lastSeq, Long.parseLong(line.substring(0, line.indexOf('\t'))));
+            }
+        }
+        replayUpTo = lastSeq;
+        replayed = replayUpTo <= committedSeq;
+        if (segments.isEmpty()) segments.put(lastSeq + 1, segmentPath(lastSeq + 1));
+        journal = FileChannel.open(segments.lastEntry().getValue(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /** The writer starts once the schema and seed data exist, replaying any journaled backlog before draining the queue. */
+    @EventListener(ApplicationReadyEvent.class) void start() {
+        writer = new Thread(() -> { replayJournal(); runWriter(); }, "event-write-behind");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /** Journals and queues one validated event; throws {@link ServiceBusyException} when the queue stays full past the offer timeout. */
+    public long enqueue(long assetId, String eventType, String eventDescription, LocalDate eventDate) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(offerTimeoutMs);
+        while (true) {
+            if (!running) throw new ServiceBusyException("Event ingestion is shutting down");
+            if (!replayed) throw new ServiceBusyException("Event journal replay is pending");
+            journalLock.lock();
+            try {
+                if (queue.remainingCapacity() > 0) {
+                    PendingEvent event = new PendingEvent(++lastSeq, assetId, eventType, eventDescription, eventDate, LocalDateTime.now());
+                    append(event);
+                    queue.add(event);
+                    return event.seq();
+                }
+            } finally {
+                journalLock.unlock();
+            }
+            if (System.nanoTime() >= deadline) throw new ServiceBusyException("Event queue is full");
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    public int getQueueDepth() { return queue.size(); }
+    public long getCommittedSequence() { return committedSeq; }
+    public int getSegmentCount() {
+        journalLock.lock();
+        try { return segments.size(); } finally { journalLock.unlock(); }
+    }
+
+    private void runWriter() {
+        List<PendingEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                if (!batch.isEmpty()) { syncJournal(); flush(batch); batch.clear(); continue; }
+                PendingEvent first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) { truncateIfIdle(); continue; }
+                batch.add(first);
+                long deadline = System.currentTimeMillis() + flushIntervalMs;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long wait = deadline - System.currentTimeMillis();
+                    if (batch.size() >= batchSize || wait <= 0 || !running) break;
+                    PendingEvent next = queue.poll(wait, TimeUnit.MILLISECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                syncJournal();
+                flush(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                running = false;
+            } catch (RuntimeException e) {
+                log.error("Write-behind flush of {} events failed, retrying", batch.size(), e);
+                sleepQuietly(Math.max(flushIntervalMs, 500));
+            }
+        }
+        if (batch.isEmpty()) return;
+        try {
+            syncJournal();
+            flush(batch);
+        } catch (RuntimeException e) {
+            log.error("Final write-behind flush of {} events failed; they stay in the journal for replay", batch.size(), e);
+        }
+    }
+
+    private void flush(List<PendingEvent> batch) {
+        if (batch.isEmpty()) return;
+        try {
+            tx.executeWithoutResult(s -> jdbc.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, e) -> bind(ps, e)));
+        } catch (DataIntegrityViolationException batchFailure) {
+            for (PendingEvent e : batch) {
+                try { jdbc.update(INSERT_SQL, ps -> bind(ps, e)); }
+                catch (DataIntegrityViolationException rowFailure) { log.error("Dropping lifecycle event {} for asset {}: {}", e.seq(), e.assetId(), rowFailure.getMostSpecificCause().getMessage()); }
+            }
+        }
+        checkpoint(batch.get(batch.size() - 1).seq());
+        releaseSegments();
+    }
+
+    private static void bind(PreparedStatement ps, PendingEvent e) throws SQLException {
+        ps.setLong(1, e.assetId()); ps.setString(2, e.eventType()); ps.setString(3, e.eventDescription());
+        ps.setDate(4, e.eventDate() == null ? null : Date.valueOf(e.eventDate())); ps.setTimestamp(5, Timestamp.valueOf(e.loggedAt()));
+    }
+
+    private void checkpoint(long seq) {
+        committedSeq = seq;
+        try {
+            Path tmp = checkpointPath.resolveSibling("events.checkpoint.tmp");
+            Files.writeString(tmp, Long.toString(seq));
+            Files.move(tmp, checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("Could not persist event checkpoint {}", seq, e);
+        }
+    }
+
+    private void truncateIfIdle() {
+        journalLock.lock();
+        try {
+            if (journal.size() > 0 && lastSeq == committedSeq) { journal.truncate(0); journal.force(true); }
+            else journal.force(false);
+        } catch (IOException e) {
+            log.error("Event journal maintenance failed", e);
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    /** Deletes closed segments whose entries are all at or below the checkpoint; the open segment is kept. */
+    private void releaseSegments() {
+        journalLock.lock();
+        try {
+            while (segments.size() > 1 && segments.higherKey(segments.firstKey()) <= committedSeq + 1) {
+                Map.Entry<Long, Path> oldest = segments.pollFirstEntry();
+                try { Files.deleteIfExists(oldest.getValue()); }
+                catch (IOException e) { log.error("Could not delete event journal segment {}", oldest.getValue(), e); }
+            }
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    private void syncJournal() {
+        journalLock.lock();
+        try { journal.force(false); }
+        catch (IOException e) { log.error("Could not force the event journal", e); }
+        finally { journalLock.unlock(); }
+    }
+
+    /** Called under journalLock; the full segment is forced before it is closed, so rotation never loses an entry. */
+    private void append(PendingEvent e) {
+        String line = e.seq() + "\t" + e.assetId() + "\t" + escape(e.eventType()) + "\t" + (e.eventDate() == null ? "\\N" : e.eventDate())
+                + "\t" + e.loggedAt() + "\t" + escape(e.eventDescription()) + "\n";
+        try {
+            if (e.seq() - segments.lastKey() >= segmentEvents) {
+                journal.force(false);
+                journal.close();
+                Path next = segmentPath(e.seq());
+                journal = FileChannel.open(next, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                segments.put(e.seq(), next);
+            }
+            ByteBuffer buf = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+            while (buf.hasRemaining()) journal.write(buf);
+        } catch (IOException ex) {
+            throw new ServiceBusyException("Event journal unavailable: " + ex.getMessage());
+        }
+    }
+
+    private Path segmentPath(long firstSeq) { return spillDir.resolve(String.format("events.%019d.journal", firstSeq)); }
+
+    private static Long segmentStart(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith("events.") || !name.endsWith(".journal")) return null;
+        try { return Long.parseLong(name.substring("events.".length(), name.length() - ".journal".length())); }
+        catch (NumberFormatException e) { return null; }
+    }
+
+    private void replayJournal() {
+        while (running && !replayed) {
+            if (replayOnce()) replayed = true;
+            else sleepQuietly(Math.max(flushIntervalMs, 500));
+        }
+    }
+
+    /** Resumes after the checkpoint, so a retry skips the batches an earlier attempt committed. */
+    private boolean replayOnce() {
+        if (replayUpTo <= committedSeq) return true;
+        List<PendingEvent> batch = new ArrayList<>(batchSize);
+        int count = 0;
+        List<Path> files;
+        journalLock.lock();
+        try { files = List.copyOf(segments.values()); } finally { journalLock.unlock(); }
+        try {
+            for (Path file : files) {
+                if (!Files.exists(file)) continue;
+                try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = in.readLine()) != null) {
+                        String[] f = line.split("\t", 6);
+                        if (f.length < 6) continue;
+                        long seq = Long.parseLong(f[0]);
+                        if (seq <= committedSeq) continue;
+                        if (seq > replayUpTo) break;
+                        batch.add(new PendingEvent(seq, Long.parseLong(f[1]), unescape(f[2]), unescape(f[5]),
+                                "\\N".equals(f[3]) ? null : LocalDate.parse(f[3]), LocalDateTime.parse(f[4])));
+                        if (batch.size() >= batchSize) { count += batch.size(); flush(batch); batch.clear(); }
+                    }
+                }
+            }
+            count += batch.size();
+            flush(batch);
+            checkpoint(replayUpTo);
+            releaseSegments();
+            log.info("Replayed {} journaled lifecycle events", count);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.error("Event journal replay failed, retrying; new events are refused until entries after sequence {} are stored", committedSeq, e);
+            return false;
+        }
+    }
+
+    @PreDestroy void shutdown() throws InterruptedException, IOException {
+        running = false;
+        if (writer != null) writer.join(TimeUnit.SECONDS.toMillis(30));
+        journalLock.lock();
+        try {
+            if (lastSeq == committedSeq) journal.truncate(0);
+            journal.force(true);
+            journal.close();
+        } finally {
+            journalLock.unlock();
+        }
+    }
+
+    private static void sleepQuietly(long ms) {
+        try { Thread.sleep(ms); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+    }
+
+    static String escape(String s) {
+        if (s == null) return "\\N";
+        return s.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    static String unescape(String s) {
+        if ("\\N".equals(s)) return null;
+        StringBuilder out = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c != '\\' || i + 1 == s.length()) { out.append(c); continue; }
+            char n = s.charAt(++i);
+            out.append(n == 't' ? '\t' : n == 'n' ? '\n' : n == 'r' ? '\r' : n);
+        }
+        return out.toString();
+    }
+}
@@ -4,9 +4,10 @@ import com.example.demo.entity.User;
 import com.example.demo.repository.RoleRepository;
 import com.example.demo.repository.UserRepository;
 import com.example.demo.service.UserService;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import com.example.demo.util.PasswordHasher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.util.Map;
 import java.util.Optional;
 
@@ -14,29 +15,34 @@ import java.util.Optional;
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
-    private final PasswordEncoder encoder;
+    private final PasswordHasher hasher;
+    private final TransactionTemplate tx;
 
-    public UserServiceImpl(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder encoder) {
+    public UserServiceImpl(UserRepository userRepository, RoleRepository roleRepository, PasswordHasher hasher, PlatformTransactionManager txManager) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
-        this.encoder = encoder;
+        this.hasher = hasher;
+        this.tx = new TransactionTemplate(txManager);
     }
 
+    /** Hashes before the transaction opens, so a connection is never held while BCrypt runs or waits for the pool. */
     @Override
-    @Transactional
     public User registerUser(Map<String, String> userData) {
         String email = userData.get("email");
         if(email==null || email.isEmpty()) throw new IllegalArgumentException("Email required");
-        if (userRepository.findByEmail(email).isPresent()) throw new IllegalArgumentException("Email already exists");
+        String password = hasher.encode(userData.get("password"));
 
-        User user = new User();
-        user.setName(userData.get("name"));
-        user.setEmail(email);
-        user.setPassword(encoder.encode(userData.get("password")));
-        
-        Optional<Role> roleOpt = roleRepository.findByName("USER");
-        Role userRole = roleOpt.orElseGet(() -> roleRepository.save(new Role("USER")));
-        user.getRoles().add(userRole);
-        return userRepository.save(user);
+        return tx.execute(status -> {
+            if (userRepository.findByEmail(email).isPresent()) throw new IllegalArgumentException("Email already exists");
+            User user = new User();
+            user.setName(userData.get("name"));
+            user.setEmail(email);
+            user.setPassword(password);
+
+            Optional<Role> roleOpt = roleRepository.findByName("USER");
+            Role userRole = roleOpt.orElseGet(() -> roleRepository.save(new Role("USER")));
+            user.getRoles().add(userRole);
+            return userRepository.save(user);
+        });
     }
 }
@@ -0,0 +1,362 @@
+package com.example.demo.service.impl;
+import com.example.demo.dto.HistoricalValuation;
+import com.example.demo.util.DepreciationCalculator;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Month-end checkpoints of the valuation inputs, for "book value on date D" questions. A checkpoint is one deflated
+ * file: per-vendor totals at the month end, then columns sorted by asset id (vendor, rule, cost, purchase day,
+ * disposal day). Each run starts from the previous checkpoint and re-reads only assets inserted, or disposed, since
+ * its cursors (asset id and lifecycle event id). A query starts from the checkpoint nearest its date and replays the
+ * same delta, limited to assets purchased by then. Book values are recomputed from the columns with the current
+ * rules, exactly as live valuations are. Opt-in with {@code app.valuation.checkpoints.enabled}; while disabled no
+ * files are read or written and every query reads the full table.
+ */
+@Component
+public class ValuationCheckpoints {
+    private static final Logger log = LoggerFactory.getLogger(ValuationCheckpoints.class);
+    static final int MAGIC = 0x56434b50, FORMAT = 1;
+    static final int UNKNOWN_DAY = Integer.MIN_VALUE, NEVER = Integer.MAX_VALUE;
+    static final String FACTS_SQL = "select a.id, a.vendor_id, a.depreciation_rule_id, a.purchase_cost, a.purchase_date, a.status, d.disposal_date, d.created_at, a.created_at "
+            + "from assets a left join asset_disposals d on d.asset_id = a.id where ";
+    static final String INSERTED_AFTER = "a.id > ?";
+    static final String APPROVED_AFTER = "a.id in (select e.asset_id from asset_lifecycle_events e where e.id > ? and e.event_type = '" + AssetDisposalServiceImpl.APPROVAL_EVENT + "')";
+    static final String PURCHASED_BY = " and (a.purchase_date is null or a.purchase_date <= ?)";
+    static final String RULES_SQL = "select id, method, useful_life_years, salvage_value from depreciation_rules";
+
+    record Header(LocalDate monthEnd, long takenAtMillis, long assetCursor, long eventCursor, List<VendorTotal> vendors) {}
+    record VendorTotal(long vendorId, int assets, double cost, double book) {}
+    record Snapshot(Header header, Facts facts) {}
+
+    private final JdbcTemplate jdbc;
+    private final boolean enabled;
+    private final Path dir;
+    private final int retain, graceSeconds;
+    private final NavigableMap<LocalDate, Path> files = new ConcurrentSkipListMap<>();
+    private final ReentrantLock runLock = new ReentrantLock();
+    private volatile Snapshot lastLoaded;
+
+    public ValuationCheckpoints(JdbcTemplate jdbc,
+                                @Value("${app.valuation.checkpoints.enabled:false}") boolean enabled,
+                                @Value("${app.valuation.checkpoints.dir:${java.io.tmpdir}/asset-valuation-checkpoints}") String dir,
+                                @Value("${app.valuation.checkpoints.retain:36}") int retain,
+                                @Value("${app.valuation.checkpoints.grace-seconds:300}") int graceSeconds) {
+        this.jdbc = jdbc; this.enabled = enabled; this.dir = Path.of(dir); this.retain = Math.max(1, retain); this.graceSeconds = Math.max(0, graceSeconds);
+    }
+
+    @PostConstruct void open() throws IOException {
+        if (!enabled || !Files.isDirectory(dir)) return;
+        try (Stream<Path> list = Files.list(dir)) {
+            list.filter(f -> f.getFileName().toString().matches("valuation-\\d{4}-\\d{2}-\\d{2}\\.ckpt")).forEach(f -> {
+                String name = f.getFileName().toString();
+                files.put(LocalDate.parse(name.substring("valuation-".length(), name.length() - ".ckpt".length())), f);
+            });
+        }
+        if (!files.isEmpty()) log.info("Found {} valuation checkpoints, latest {}", files.size(), files.lastKey());
+    }
+
+    @Scheduled(initialDelayString = "${app.valuation.checkpoints.initial-delay-ms:60000}", fixedDelayString = "${app.valuation.checkpoints.interval-ms:3600000}")
+    void scheduledRun() { if (enabled) checkpoint(); }
+
+    /** Writes the checkpoint for the last completed month end unless it exists; returns its header, or null if another run holds the lock. */
+    public Header checkpoint() {
+        if (!enabled) throw new IllegalArgumentException("Valuation checkpoints are disabled (app.valuation.checkpoints.enabled=false)");
+        LocalDate monthEnd = LocalDate.now().withDayOfMonth(1).minusDays(1);
+        Path existing = files.get(monthEnd);
+        if (existing != null) return readHeader(existing);
+        if (!runLock.tryLock()) return null;
+        try {
+            if (files.containsKey(monthEnd)) return readHeader(files.get(monthEnd));
+            long started = System.currentTimeMillis();
+            // rows whose ids are still in flight past the grace period are re-read as delta by later runs and queries
+            Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusSeconds(graceSeconds));
+            long assetCursor = jdbc.queryForObject("select coalesce(max(id), 0) from assets where created_at < ?", Long.class, cutoff);
+            long eventCursor = jdbc.queryForObject("select coalesce(max(id), 0) from asset_lifecycle_events where logged_at < ?", Long.class, cutoff);
+            Map.Entry<LocalDate, Path> previous = files.lastEntry();
+            Facts facts;
+            if (previous == null) facts = query(FACTS_SQL + "1 = 1 order by a.id");
+            else {
+                Snapshot base = load(previous.getValue());
+                facts = base.facts().merge(delta(base.header(), null));
+            }
+            Header header = new Header(monthEnd, System.currentTimeMillis(), assetCursor, eventCursor, vendorTotals(facts, monthEnd, rules()));
+            Path path = write(header, facts);
+            files.put(monthEnd, path);
+            prune();
+            log.info("Wrote valuation checkpoint {} ({} assets, {} bytes) in {} ms{}", path.getFileName(), facts.size, Files.size(path),
+                    System.currentTimeMillis() - started, previous == null ? "" : " from " + previous.getKey());
+            return header;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Valuation checkpoint failed", e);
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    /** Values the assets held on {@code asOf}: purchased by then and not yet disposed of. */
+    public HistoricalValuation valueAsOf(LocalDate asOf, Long vendorId) {
+        Map.Entry<LocalDate, Path> nearest = files.floorEntry(asOf);
+        if (nearest == null) nearest = files.ceilingEntry(asOf);
+        Facts facts;
+        int replayed;
+        if (nearest == null) {
+            facts = query(FACTS_SQL + "1 = 1" + PURCHASED_BY + " order by a.id", Date.valueOf(asOf));
+            replayed = facts.size;
+        } else {
+            Snapshot base = load(nearest.getValue());
+            Facts delta = delta(base.header(), asOf);
+            facts = base.facts().merge(delta);
+            replayed = delta.size;
+        }
+        Rules rules = rules();
+        long day = asOf.toEpochDay();
+        int n = 0;
+        double[] cost = new double[facts.size]; long[] purchased = new long[facts.size]; int[] ruleOf = new int[facts.size];
+        for (int i = 0; i < facts.size; i++) {
+            if (vendorId != null && facts.vendor[i] != vendorId) continue;
+            if (!heldOn(facts, i, day)) continue;
+            cost[n] = facts.cost[i];
+            purchased[n] = facts.purchased[i] == UNKNOWN_DAY ? day : facts.purchased[i];
+            ruleOf[n++] = rules.index.getOrDefault(facts.rule[i], -1);
+        }
+        double[] book = new double[n];
+        DepreciationCalculator.bookValues(cost, purchased, ruleOf, n, rules.method, rules.life, rules.salvage, day, book);
+        double totalCost = 0, totalBook = 0;
+        for (int i = 0; i < n; i++) { totalCost += cost[i]; totalBook += book[i]; }
+        return new HistoricalValuation(asOf, vendorId, n, totalCost, totalCost - totalBook, totalBook, nearest == null ? null : nearest.getKey(), replayed);
+    }
+
+    /** One entry per checkpoint, newest first, with its month-end totals. */
+    public List<Map<String, Object>> list() {
+        List<Map<String, Object>> out = new ArrayList<>();
+        for (Map.Entry<LocalDate, Path> e : files.descendingMap().entrySet()) {
+            Header h = readHeader(e.getValue());
+            int assets = 0; double cost = 0, book = 0;
+            for (VendorTotal v : h.vendors()) { assets += v.assets(); cost += v.cost(); book += v.book(); }
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("monthEnd", h.monthEnd());
+            row.put("takenAt", LocalDateTime.ofInstant(Instant.ofEpochMilli(h.takenAtMillis()), ZoneId.systemDefault()));
+            row.put("assets", assets);
+            row.put("totalCost", cost);
+            row.put("bookValue", book);
+            row.put("vendors", h.vendors().size());
+            out.add(row);
+        }
+        return out;
+    }
+
+    private static boolean heldOn(Facts f, int i, long day) { return (f.purchased[i] == UNKNOWN_DAY || f.purchased[i] <= day) && f.disposed[i] > day; }
+
+    /** Assets inserted after the checkpoint's cursor plus those whose disposal was approved since; optionally only those purchased by a date. */
+    private Facts delta(Header since, LocalDate purchasedBy) {
+        String filter = purchasedBy == null ? "" : PURCHASED_BY;
+        Object[] inserted = purchasedBy == null ? new Object[] { since.assetCursor() } : new Object[] { since.assetCursor(), Date.valueOf(purchasedBy) };
+        Object[] approved = purchasedBy == null ? new Object[] { since.eventCursor() } : new Object[] { since.eventCursor(), Date.valueOf(purchasedBy) };
+        return query(FACTS_SQL + INSERTED_AFTER + filter + " order by a.id", inserted).merge(query(FACTS_SQL + APPROVED_AFTER + filter + " order by a.id", approved));
+    }
+
+    private Facts query(String sql, Object... args) {
+        Facts facts = new Facts(1024);
+        jdbc.query(sql, rs -> { facts.add(rs); }, args);
+        return facts;
+    }
+
+    private List<VendorTotal> vendorTotals(Facts facts, LocalDate monthEnd, Rules rules) {
+        long day = monthEnd.toEpochDay();
+        Map<Long, double[]> totals = new TreeMap<>();
+        for (int i = 0; i < facts.size; i++) {
+            if (!heldOn(facts, i, day)) continue;
+            int r = rules.index.getOrDefault(facts.rule[i], -1);
+            double cost = facts.cost[i];
+            double book = r < 0 || facts.purchased[i] == UNKNOWN_DAY ? cost
+                    : DepreciationCalculator.bookValue(cost, rules.method[r], rules.life[r], rules.salvage[r], DepreciationCalculator.elapsedMonths(facts.purchased[i], day));
+            double[] t = totals.computeIfAbsent(facts.vendor[i], k -> new double[3]);
+            t[0]++; t[1] += cost; t[2] += book;
+        }
+        List<VendorTotal> out = new ArrayList<>(totals.size());
+        totals.forEach((vendor, t) -> out.add(new VendorTotal(vendor, (int) t[0], t[1], t[2])));
+        return out;
+    }
+
+    private Rules rules() {
+        Rules rules = new Rules();
+        jdbc.query(RULES_SQL, rs -> {
+            try { rules.add(rs.getLong(1), DepreciationCalculator.methodCode(rs.getString(2)), rs.getInt(3), rs.getDouble(4)); }
+            catch (IllegalArgumentException unknownMethod) { /* valued at cost, like an asset without a rule */ }
+        });
+        return rules;
+    }
+
+    private Snapshot load(Path path) {
+        Snapshot cached = lastLoaded;
+        if (cached != null && cached.header().monthEnd().equals(monthEnd(path))) return cached;
+        try (DataInputStream in = open(path)) {
+            Header header = readHeader(in);
+            int n = in.readInt();
+            Facts facts = new Facts(n);
+            facts.size = n;
+            for (int i = 0; i < n; i++) facts.id[i] = in.readLong();
+            for (int i = 0; i < n; i++) facts.vendor[i] = in.readLong();
+            for (int i = 0; i < n; i++) facts.rule[i] = in.readLong();
+            for (int i = 0; i < n; i++) facts.cost[i] = in.readDouble();
+            for (int i = 0; i < n; i++) facts.purchased[i] = in.readInt();
+            for (int i = 0; i < n; i++) facts.disposed[i] = in.readInt();
+            Snapshot loaded = new Snapshot(header, facts);
+            lastLoaded = loaded;
+            return loaded;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt valuation checkpoint " + path, e);
+        }
+    }
+
+    private Header readHeader(Path path) {
+        try (DataInputStream in = open(path)) { return readHeader(in); }
+        catch (IOException e) { throw new UncheckedIOException("Corrupt valuation checkpoint " + path, e); }
+    }
+
+    private static Header readHeader(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT) throw new IOException("Not a valuation checkpoint");
+        LocalDate monthEnd = LocalDate.ofEpochDay(in.readLong());
+        long takenAt = in.readLong(), assetCursor = in.readLong(), eventCursor = in.readLong();
+        int vendors = in.readInt();
+        List<VendorTotal> totals = new ArrayList<>(vendors);
+        for (int i = 0; i < vendors; i++) totals.add(new VendorTotal(in.readLong(), in.readInt(), in.readDouble(), in.readDouble()));
+        return new Header(monthEnd, takenAt, assetCursor, eventCursor, totals);
+    }
+
+    private static DataInputStream open(Path path) throws IOException {
+        return new DataInputStream(new BufferedInputStream(new InflaterInputStream(Files.newInputStream(path)), 1 << 16));
+    }
+
+    /** Column-major so each column deflates on its own patterns (ascending ids, few vendors and rules). */
+    private Path write(Header header, Facts facts) throws IOException {
+        Files.createDirectories(dir);
+        Path target = dir.resolve("valuation-" + header.monthEnd() + ".ckpt");
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new DeflaterOutputStream(Files.newOutputStream(tmp), deflater, 1 << 16), 1 << 16))) {
+            out.writeInt(MAGIC); out.writeInt(FORMAT);
+            out.writeLong(header.monthEnd().toEpochDay()); out.writeLong(header.takenAtMillis());
+            out.writeLong(header.assetCursor()); out.writeLong(header.eventCursor());
+            out.writeInt(header.vendors().size());
+            for (VendorTotal v : header.vendors()) { out.writeLong(v.vendorId()); out.writeInt(v.assets()); out.writeDouble(v.cost()); out.writeDouble(v.book()); }
+            out.writeInt(facts.size);
+            for (int i = 0; i < facts.size; i++) out.writeLong(facts.id[i]);
+            for (int i = 0; i < facts.size; i++) out.writeLong(facts.vendor[i]);
+            for (int i = 0; i < facts.size; i++) out.writeLong(facts.rule[i]);
+            for (int i = 0; i < facts.size; i++) out.writeDouble(facts.cost[i]);
+            for (int i = 0; i < facts.size; i++) out.writeInt(facts.purchased[i]);
+            for (int i = 0; i < facts.size; i++) out.writeInt(facts.disposed[i]);
+        } finally {
+            deflater.end();
+        }
+        return Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void prune() throws IOException {
+        while (files.size() > retain) {
+            Map.Entry<LocalDate, Path> oldest = files.pollFirstEntry();
+            Files.deleteIfExists(oldest.getValue());
+        }
+    }
+
+    private static LocalDate monthEnd(Path path) {
+        String name = path.getFileName().toString();
+        return LocalDate.parse(name.substring("valuation-".length(), name.length() - ".ckpt".length()));
+    }
+
+    /** Valuation inputs laid out column-wise, sorted by asset id; 0 stands for no vendor or rule. */
+    static final class Facts {
+        int size;
+        long[] id, vendor, rule; double[] cost; int[] purchased, disposed;
+
+        Facts(int capacity) {
+            capacity = Math.max(capacity, 1);
+            id = new long[capacity]; vendor = new long[capacity]; rule = new long[capacity]; cost = new double[capacity];
+            purchased = new int[capacity]; disposed = new int[capacity];
+        }
+
+        /** Reads one FACTS_SQL row; a second disposal row for the same asset keeps the earlier date. */
+        void add(ResultSet rs) throws SQLException {
+            long assetId = rs.getLong(1);
+            int disposedOn = NEVER;
+            if ("DISPOSED".equals(rs.getString(6))) {
+                Date disposal = rs.getDate(7);
+                Timestamp requested = rs.getTimestamp(8), created = rs.getTimestamp(9);
+                LocalDate on = disposal != null ? disposal.toLocalDate() : requested != null ? requested.toLocalDateTime().toLocalDate()
+                        : created != null ? created.toLocalDateTime().toLocalDate() : LocalDate.now();
+                disposedOn = (int) on.toEpochDay();
+            }
+            if (size > 0 && id[size - 1] == assetId) { disposed[size - 1] = Math.min(disposed[size - 1], disposedOn); return; }
+            Date purchaseDate = rs.getDate(5);
+            add(assetId, rs.getLong(2), rs.getLong(3), rs.getDouble(4), purchaseDate == null ? UNKNOWN_DAY : (int) purchaseDate.toLocalDate().toEpochDay(), disposedOn);
+        }
+
+        void add(long assetId, long vendorId, long ruleId, double amount, int purchasedOn, int disposedOn) {
+            if (size == id.length) {
+                int capacity = size + (size >> 1) + 1;
+                id = Arrays.copyOf(id, capacity); vendor = Arrays.copyOf(vendor, capacity); rule = Arrays.copyOf(rule, capacity);
+                cost = Arrays.copyOf(cost, capacity); purchased = Arrays.copyOf(purchased, capacity); disposed = Arrays.copyOf(disposed, capacity);
+            }
+            id[size] = assetId; vendor[size] = vendorId; rule[size] = ruleId; cost[size] = amount; purchased[size] = purchasedOn; disposed[size] = disposedOn;
+            size++;
+        }
+
+        /** Merges two id-sorted sets; rows of {@code newer} replace rows with the same id. */
+        Facts merge(Facts newer) {
+            if (newer.size == 0) return this;
+            Facts out = new Facts(size + newer.size);
+            int i = 0, j = 0;
+            while (i < size || j < newer.size) {
+                if (j == newer.size || (i < size && id[i] < newer.id[j])) { out.copy(this, i++); continue; }
+                if (i < size && id[i] == newer.id[j]) i++;
+                out.copy(newer, j++);
+            }
+            return out;
+        }
+
+        private void copy(Facts from, int k) { add(from.id[k], from.vendor[k], from.rule[k], from.cost[k], from.purchased[k], from.disposed[k]); }
+    }
+
+    private static final class Rules {
+        final Map<Long, Integer> index = new HashMap<>();
+        byte[] method = new byte[8]; int[] life = new int[8]; double[] salvage = new double[8];
+
+        void add(long id, byte methodCode, int lifeYears, double salvageValue) {
+            int i = index.size();
+            if (i == method.length) { method = Arrays.copyOf(method, i * 2); life = Arrays.copyOf(life, i * 2); salvage = Arrays.copyOf(salvage, i * 2); }
+            method[i] = methodCode; life[i] = lifeYears; salvage[i] = salvageValue;
+            index.put(id, i);
+        }
+    }
+}
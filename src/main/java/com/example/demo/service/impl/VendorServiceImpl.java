@@ -3,6 +3,7 @@ import com.example.demo.entity.Vendor;
 import com.example.demo.repository.VendorRepository;
 import com.example.demo.service.VendorService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 
 @Service
@@ -14,6 +15,6 @@ public class VendorServiceImpl implements VendorService {
         if (vendor.getContactEmail() == null || !vendor.getContactEmail().contains("@")) throw new IllegalArgumentException("Invalid email");
         return repository.save(vendor);
     }
-    @Override public List<Vendor> getAllVendors() { return repository.findAll(); }
-    @Override public Vendor getVendor(Long id) { return repository.findById(id).orElseThrow(() -> new IllegalArgumentException("Vendor not found")); }
+    @Override @Transactional(readOnly = true) public List<Vendor> getAllVendors() { return repository.findAll(); }
+    @Override @Transactional(readOnly = true) public Vendor getVendor(Long id) { return repository.findById(id).orElseThrow(() -> new IllegalArgumentException("Vendor not found")); }
 }
@@ -0,0 +1,59 @@
+package com.example.demo.util;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * AIMD concurrency limit driven by latency. Latency is tracked as a short and a long moving average; the group is
+ * congested when the short one exceeds {@code tolerance} times the long one (a gradient, so endpoints of different
+ * speeds can share a group). Congestion cuts the limit by {@code backoffRatio}, at most once per short-average
+ * latency so a burst of slow completions from the same overload counts once. Each uncongested completion while
+ * at least half the limit is in use adds one slot.
+ */
+public final class AdaptiveLimit {
+    private static final double SHORT_WEIGHT = 0.1, LONG_WEIGHT = 0.01;
+    private final int minLimit, maxLimit;
+    private final double tolerance, backoffRatio;
+    private final LongAdder rejected = new LongAdder();
+    private double limit, shortNanos, longNanos;
+    private long lastDecrease = System.nanoTime();
+    private int inFlight;
+
+    public AdaptiveLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double backoffRatio) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.tolerance = Math.max(1.0, tolerance);
+        this.backoffRatio = Math.min(0.99, Math.max(0.1, backoffRatio));
+    }
+
+    /** Takes a slot, or counts a rejection and returns false if the limit is reached. */
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) { rejected.increment(); return false; }
+        inFlight++;
+        return true;
+    }
+
+    /** Returns the slot and feeds the sample in; true if this sample cut the limit. */
+    public synchronized boolean release(long latencyNanos, boolean overloaded) {
+        boolean busy = inFlight * 2 >= limit;
+        inFlight--;
+        long now = System.nanoTime();
+        shortNanos = shortNanos == 0 ? latencyNanos : shortNanos + (latencyNanos - shortNanos) * SHORT_WEIGHT;
+        longNanos = longNanos == 0 ? latencyNanos : longNanos + (latencyNanos - longNanos) * LONG_WEIGHT;
+        if (overloaded || shortNanos > longNanos * tolerance) {
+            if (now - lastDecrease < shortNanos) return false;
+            lastDecrease = now;
+            backOff();
+            return true;
+        }
+        if (busy) limit = Math.min(maxLimit, limit + 1);
+        return false;
+    }
+
+    /** One multiplicative cut; also applied for a cut of a higher-priority group sharing the same database. */
+    public synchronized void backOff() { limit = Math.max(minLimit, limit * backoffRatio); }
+
+    public synchronized int getLimit() { return (int) limit; }
+    public synchronized int getInFlight() { return inFlight; }
+    public long getRejected() { return rejected.sum(); }
+}
@@ -0,0 +1,96 @@
+package com.example.demo.util;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Book value arithmetic for STRAIGHT_LINE and DECLINING_BALANCE (double-declining) rules.
+ * Depreciation accrues per whole elapsed month; the value never drops below salvage. Declining balance switches
+ * to straight-line over the remaining life in the first year where that charges more, so the asset reaches salvage
+ * exactly at the end of its life instead of dropping to it in the last month.
+ */
+public final class DepreciationCalculator {
+    public static final byte STRAIGHT_LINE = 0;
+    public static final byte DECLINING_BALANCE = 1;
+    static final int BATCH_THRESHOLD = 4096;
+
+    private DepreciationCalculator() {}
+
+    public static byte methodCode(String method) {
+        if ("STRAIGHT_LINE".equals(method)) return STRAIGHT_LINE;
+        if ("DECLINING_BALANCE".equals(method)) return DECLINING_BALANCE;
+        throw new IllegalArgumentException("Invalid method");
+    }
+
+    public static long elapsedMonths(long purchaseEpochDay, long asOfEpochDay) {
+        if (asOfEpochDay <= purchaseEpochDay) return 0;
+        return ChronoUnit.MONTHS.between(LocalDate.ofEpochDay(purchaseEpochDay), LocalDate.ofEpochDay(asOfEpochDay));
+    }
+
+    public static double bookValue(double cost, byte method, int lifeYears, double salvage, long months) {
+        if (cost <= 0 || lifeYears <= 0 || months <= 0) return cost;
+        double floor = Math.min(salvage, cost);
+        long lifeMonths = lifeYears * 12L;
+        if (months >= lifeMonths) return floor;
+        if (method == STRAIGHT_LINE) return cost - (cost - floor) * months / lifeMonths;
+        double rate = 2.0 / lifeYears, value = cost;
+        long years = months / 12;
+        for (int year = 0; year <= years; year++) {
+            double charge = Math.min(value - floor, Math.max(value * rate, (value - floor) / (lifeYears - year)));
+            if (year == years) return value - charge * (months % 12) / 12.0;
+            value -= charge;
+        }
+        return value;
+    }
+
+    public static List<double[]> yearlySchedule(double cost, byte method, int lifeYears, double salvage) {
+        List<double[]> periods = new ArrayList<>(Math.max(lifeYears, 0));
+        double opening = cost;
+        for (int year = 1; year <= lifeYears; year++) {
+            double closing = bookValue(cost, method, lifeYears, salvage, year * 12L);
+            periods.add(new double[] { opening, opening - closing, closing });
+            opening = closing;
+        }
+        return periods;
+    }
+
+    /**
+     * Values a whole portfolio laid out column-wise. {@code ruleIndex[i] < 0} means the asset has no rule.
+     * Rows are split across the common fork-join pool.
+     */
+    public static void bookValues(double[] cost, long[] purchaseEpochDay, int[] ruleIndex, int count,
+                                  byte[] ruleMethod, int[] ruleLife, double[] ruleSalvage,
+                                  long asOfEpochDay, double[] out) {
+        ForkJoinPool.commonPool().invoke(new BatchTask(cost, purchaseEpochDay, ruleIndex, ruleMethod, ruleLife, ruleSalvage, asOfEpochDay, out, 0, count));
+    }
+
+    private static final class BatchTask extends RecursiveAction {
+        private final double[] cost; private final long[] purchaseEpochDay; private final int[] ruleIndex;
+        private final byte[] ruleMethod; private final int[] ruleLife; private final double[] ruleSalvage;
+        private final long asOfEpochDay; private final double[] out; private final int from; private final int to;
+
+        BatchTask(double[] cost, long[] purchaseEpochDay, int[] ruleIndex, byte[] ruleMethod, int[] ruleLife, double[] ruleSalvage,
+                  long asOfEpochDay, double[] out, int from, int to) {
+            this.cost = cost; this.purchaseEpochDay = purchaseEpochDay; this.ruleIndex = ruleIndex;
+            this.ruleMethod = ruleMethod; this.ruleLife = ruleLife; this.ruleSalvage = ruleSalvage;
+            this.asOfEpochDay = asOfEpochDay; this.out = out; this.from = from; this.to = to;
+        }
+
+        @Override protected void compute() {
+            if (to - from <= BATCH_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    int r = ruleIndex[i];
+                    out[i] = r < 0 ? cost[i] : bookValue(cost[i], ruleMethod[r], ruleLife[r], ruleSalvage[r], elapsedMonths(purchaseEpochDay[i], asOfEpochDay));
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new BatchTask(cost, purchaseEpochDay, ruleIndex, ruleMethod, ruleLife, ruleSalvage, asOfEpochDay, out, from, mid),
+                      new BatchTask(cost, purchaseEpochDay, ruleIndex, ruleMethod, ruleLife, ruleSalvage, asOfEpochDay, out, mid, to));
+        }
+    }
+}
@@ -2,14 +2,44 @@ package com.example.demo.util;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Component
 public class JwtUtil {
+    static final int MAX_CACHED_TOKENS = 10_000;
+    /** An eviction sweep trims the cache to this size, so one sweep covers the next thousand new tokens. */
+    static final int EVICT_TO = MAX_CACHED_TOKENS - MAX_CACHED_TOKENS / 10;
     private final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(key).build();
+    /** Token digest to verified token. Reads take no lock; a new token that pushes it past the cap triggers a sweep. */
+    private final Map<String, Cached> verified = new ConcurrentHashMap<>(256);
+    private final AtomicLong insertions = new AtomicLong();
+    private final ReentrantLock evictLock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder invalid = new LongAdder();
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try { return MessageDigest.getInstance("SHA-256"); } catch (NoSuchAlgorithmException e) { throw new IllegalStateException(e); }
+    });
+
     public String generateToken(String email, Long userId, Set<String> roles) {
         return Jwts.builder()
                 .setSubject(email)
@@ -20,10 +50,69 @@ public class JwtUtil {
                 .setExpiration(new Date(System.currentTimeMillis() + 3600000))
                 .signWith(key).compact();
     }
-    public boolean validateToken(String token) {
-        try { Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token); return true; } catch (Exception e) { return false; }
+    public boolean validateToken(String token) { return verify(token) != null; }
+    /** Parses the token on every call; the cache holds only {@link VerifiedToken} projections, never shared Claims. */
+    public Claims getClaims(String token) { return parser.parseClaimsJws(token).getBody(); }
+
+    /** Returns the subject, user id and authorities of a valid token, or null if it is invalid. Repeat tokens skip signature checks until they expire. */
+    public VerifiedToken verify(String token) {
+        if (token == null) return null;
+        String digest = digest(token);
+        long now = System.currentTimeMillis();
+        Cached cached = verified.get(digest);
+        if (cached != null) {
+            if (cached.token().expiresAt() > now) { hits.increment(); return cached.token(); }
+            verified.remove(digest, cached);
+        }
+        misses.increment();
+        Claims claims;
+        try { claims = parser.parseClaimsJws(token).getBody(); }
+        catch (ExpiredJwtException e) { expired.increment(); return null; }
+        catch (Exception e) { invalid.increment(); return null; }
+        List<?> roles = claims.get("roles", List.class);
+        List<GrantedAuthority> authorities = roles == null ? List.of() : roles.stream().<GrantedAuthority>map(r -> new SimpleGrantedAuthority("ROLE_" + r)).toList();
+        long expiresAt = claims.getExpiration() == null ? now : claims.getExpiration().getTime();
+        Number userId = claims.get("userId", Number.class);
+        VerifiedToken fresh = new VerifiedToken(claims.getSubject(), userId == null ? null : userId.longValue(), authorities, expiresAt);
+        if (expiresAt > now) {
+            verified.put(digest, new Cached(fresh, insertions.incrementAndGet()));
+            if (verified.size() > MAX_CACHED_TOKENS) evict(now);
+        }
+        return fresh;
+    }
+
+    /**
+     * Drops expired tokens, then the oldest insertions until the cache is down to {@link #EVICT_TO}. Tokens share
+     * one lifetime, so the oldest are also the closest to expiry. Concurrent callers skip the sweep one is running.
+     */
+    private void evict(long now) {
+        if (!evictLock.tryLock()) return;
+        try {
+            verified.values().removeIf(c -> c.token().expiresAt() <= now);
+            int excess = verified.size() - EVICT_TO;
+            if (excess <= 0) return;
+            List<Map.Entry<String, Cached>> entries = new ArrayList<>(verified.entrySet());
+            entries.sort(Comparator.comparingLong(e -> e.getValue().sequence()));
+            for (int i = 0; i < excess && i < entries.size(); i++) verified.remove(entries.get(i).getKey(), entries.get(i).getValue());
+        } finally {
+            evictLock.unlock();
+        }
     }
-    public Claims getClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+
+    public long getCacheHits() { return hits.sum(); }
+    public long getCacheMisses() { return misses.sum(); }
+    public int getCacheSize() { return verified.size(); }
+    public long getExpiredCount() { return expired.sum(); }
+    public long getInvalidCount() { return invalid.sum(); }
+
+    private static String digest(String token) {
+        MessageDigest md = SHA256.get();
+        md.reset();
+        return Base64.getEncoder().encodeToString(md.digest(token.getBytes(StandardCharsets.US_ASCII)));
     }
+
+    /** What a request needs from a verified token; immutable, so one cached instance can serve concurrent requests. */
+    public record VerifiedToken(String subject, Long userId, List<GrantedAuthority> authorities, long expiresAt) {}
+
+    private record Cached(VerifiedToken token, long sequence) {}
 }
@@ -0,0 +1,56 @@
+package com.example.demo.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Fixed-bucket latency histogram; recording is lock-free, percentiles are bucket upper bounds. */
+public class LatencyHistogram {
+    static final long[] BOUNDS_MS = { 1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000 };
+    private final LongAdder[] buckets = new LongAdder[BOUNDS_MS.length + 1];
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() { for (int i = 0; i < buckets.length; i++) buckets[i] = new LongAdder(); }
+
+    public void record(long nanos) {
+        long ms = TimeUnit.NANOSECONDS.toMillis(nanos);
+        int i = 0;
+        while (i < BOUNDS_MS.length && ms >= BOUNDS_MS[i]) i++;
+        buckets[i].increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    public long getCount() { long n = 0; for (LongAdder b : buckets) n += b.sum(); return n; }
+    public long getTotalNanos() { return totalNanos.sum(); }
+
+    public Map<String, Object> snapshot() {
+        long[] counts = new long[buckets.length];
+        long count = 0;
+        for (int i = 0; i < counts.length; i++) count += counts[i] = buckets[i].sum();
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("count", count);
+        out.put("meanMs", count == 0 ? 0.0 : totalNanos.sum() / 1e6 / count);
+        out.put("maxMs", maxNanos.get() / 1e6);
+        out.put("p50Ms", percentile(counts, count, 0.50));
+        out.put("p90Ms", percentile(counts, count, 0.90));
+        out.put("p99Ms", percentile(counts, count, 0.99));
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) histogram.put(i < BOUNDS_MS.length ? "<" + BOUNDS_MS[i] + "ms" : ">=" + BOUNDS_MS[BOUNDS_MS.length - 1] + "ms", counts[i]);
+        out.put("buckets", histogram);
+        return out;
+    }
+
+    private double percentile(long[] counts, long count, double q) {
+        if (count == 0) return 0.0;
+        long rank = (long) Math.ceil(q * count), seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) return i < BOUNDS_MS.length ? BOUNDS_MS[i] : maxNanos.get() / 1e6;
+        }
+        return maxNanos.get() / 1e6;
+    }
+}
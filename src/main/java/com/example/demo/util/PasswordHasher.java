@@ -0,0 +1,79 @@
+package com.example.demo.util;
+
+import com.example.demo.exception.ServiceBusyException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt on a pool sized to the CPU count with a short bounded queue, so a login storm costs a fixed
+ * amount of CPU and excess work is refused with {@link ServiceBusyException} instead of occupying request threads.
+ */
+@Component
+public class PasswordHasher {
+    private final PasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+    private final LatencyHistogram hashLatency = new LatencyHistogram();
+
+    public PasswordHasher(PasswordEncoder encoder,
+                          @Value("${app.auth.hash-threads:0}") int threads,
+                          @Value("${app.auth.hash-queue-capacity:64}") int queueCapacity,
+                          @Value("${app.auth.hash-timeout-ms:5000}") long timeoutMs) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.encoder = encoder;
+        this.timeoutMs = timeoutMs;
+        this.executor = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), r -> {
+            Thread t = new Thread(r, "password-hash-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /** Verifies asynchronously; the future fails with {@link ServiceBusyException} if the queue is full. */
+    public CompletableFuture<Boolean> matchesAsync(CharSequence raw, String encoded) {
+        try {
+            return CompletableFuture.supplyAsync(() -> timed(() -> encoded != null && encoder.matches(raw, encoded)), executor)
+                    .orTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new ServiceBusyException("Too many concurrent logins"));
+        }
+    }
+
+    /** Encodes on the hashing pool and waits for the result; callers hash before opening a transaction. */
+    public String encode(CharSequence raw) {
+        try {
+            return executor.submit(() -> timed(() -> encoder.encode(raw))).get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException | TimeoutException e) {
+            throw new ServiceBusyException("Password hashing is saturated");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Interrupted while hashing password");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : new IllegalStateException(e.getCause());
+        }
+    }
+
+    public LatencyHistogram getHashLatency() { return hashLatency; }
+    public int getQueueDepth() { return executor.getQueue().size(); }
+    public int getActiveCount() { return executor.getActiveCount(); }
+    public int getPoolSize() { return executor.getMaximumPoolSize(); }
+
+    private <T> T timed(Supplier<T> work) {
+        long start = System.nanoTime();
+        try { return work.get(); } finally { hashLatency.record(System.nanoTime() - start); }
+    }
+
+    @PreDestroy void shutdown() { executor.shutdownNow(); }
+}
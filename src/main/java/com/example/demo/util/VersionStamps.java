@@ -0,0 +1,85 @@
+package com.example.demo.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-process write stamps used to build strong ETags without reading the database. Every table has a counter and
+ * every entity hashes onto one of a fixed set of striped counters, so memory stays bounded and a collision only
+ * costs a spurious 200. Writes inside a transaction bump after it completes: a reader computes its ETag before it
+ * loads rows, so it can pair an old stamp with new rows (harmless) but never a new stamp with old rows.
+ * Stamps are prefixed with a per-boot epoch and only see writes made through this instance.
+ * With a read replica, a read just after a commit can still see old rows under the new stamp, so every bump is
+ * repeated once the replica lag window has passed ({@link #settleAfter}).
+ */
+public final class VersionStamps {
+    private static final String EPOCH = Long.toString(System.currentTimeMillis(), 36);
+    private static final int STRIPES = 1 << 16;
+    private static final AtomicLongArray ENTITIES = new AtomicLongArray(STRIPES);
+    private static final ClassValue<AtomicLong> TABLES = new ClassValue<>() {
+        @Override protected AtomicLong computeValue(Class<?> type) { return new AtomicLong(); }
+    };
+
+    private static volatile long settleMs;
+
+    private VersionStamps() {}
+
+    public static void settleAfter(long lagWindowMs) { settleMs = Math.max(0, lagWindowMs); }
+
+    /** Marks rows inserted without ids being known to the caller (bulk inserts): only list ETags change. */
+    public static void touchTable(Class<?> type) { afterCompletion(() -> TABLES.get(type).incrementAndGet()); }
+
+    public static void touch(Class<?> type, Object id) { touch(type, id == null ? List.of() : List.of(id)); }
+
+    public static void touch(Class<?> type, Collection<?> ids) {
+        if (ids.isEmpty()) { touchTable(type); return; }
+        List<?> copy = List.copyOf(ids);
+        afterCompletion(() -> {
+            for (Object id : copy) ENTITIES.incrementAndGet(stripe(type, id));
+            TABLES.get(type).incrementAndGet();
+        });
+    }
+
+    /** Strong ETag over the given tables, e.g. a list whose items embed rows of the other tables. */
+    public static String etag(Class<?>... tables) {
+        StringBuilder sb = new StringBuilder("\"").append(EPOCH);
+        for (Class<?> t : tables) sb.append('-').append(Long.toString(TABLES.get(t).get(), 36));
+        return sb.append('"').toString();
+    }
+
+    /** Strong ETag for one entity, plus the tables whose rows it embeds. */
+    public static String etag(Class<?> type, Object id, Class<?>... embedded) {
+        StringBuilder sb = new StringBuilder("\"").append(EPOCH).append('-').append(id).append('.').append(Long.toString(ENTITIES.get(stripe(type, id)), 36));
+        for (Class<?> t : embedded) sb.append('-').append(Long.toString(TABLES.get(t).get(), 36));
+        return sb.append('"').toString();
+    }
+
+    private static int stripe(Class<?> type, Object id) {
+        int h = type.getName().hashCode() * 31 + id.hashCode();
+        h ^= h >>> 16;
+        return h & (STRIPES - 1);
+    }
+
+    private static void afterCompletion(Runnable bump) {
+        Runnable settled = () -> { bump.run(); if (settleMs > 0) Settler.EXECUTOR.schedule(bump, settleMs, TimeUnit.MILLISECONDS); };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) { settled.run(); return; }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override public void afterCompletion(int status) { settled.run(); }
+        });
+    }
+
+    private static final class Settler {
+        static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "version-stamp-settle");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.demo.config;
+
+import com.example.demo.entity.Asset;
+import com.example.demo.entity.Vendor;
+import org.testng.annotations.Test;
+import java.time.LocalDate;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+public class CleanSaveRepositoryImplTest {
+    @Test public void anonymousEntityIsCopiedIntoItsEntityClass() {
+        Vendor vendor = new Vendor();
+        Asset anonymous = new Asset() {{
+            setAssetTag("TAG-1"); setAssetName("Laptop"); setVendor(vendor); setPurchaseDate(LocalDate.of(2024, 1, 1)); setPurchaseCost(1200.0);
+        }};
+        Asset clean = CleanSaveRepositoryImpl.clean(anonymous);
+        assertEquals(clean.getClass(), Asset.class);
+        assertEquals(clean.getAssetTag(), "TAG-1");
+        assertEquals(clean.getAssetName(), "Laptop");
+        assertSame(clean.getVendor(), vendor);
+        assertEquals(clean.getPurchaseDate(), LocalDate.of(2024, 1, 1));
+        assertEquals(clean.getPurchaseCost(), 1200.0);
+        assertEquals(clean.getStatus(), "ACTIVE", "field initialisers survive the copy");
+    }
+
+    @Test public void ordinaryEntityIsReturnedAsIs() {
+        Asset asset = new Asset();
+        assertSame(CleanSaveRepositoryImpl.clean(asset), asset);
+    }
+}
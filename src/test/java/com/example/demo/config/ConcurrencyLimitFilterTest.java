@@ -0,0 +1,33 @@
+package com.example.demo.config;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.testng.annotations.Test;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class ConcurrencyLimitFilterTest {
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(true, 20, 2, 200, 2.0, 0.9, List.of(ConcurrencyLimitFilter.DEFAULT_EXCLUDED.split(",")));
+
+    @Test public void longRunningPathsBypassTheLimiterByDefault() {
+        assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/assets/export")));
+        assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("POST", "/api/assets/import")));
+        assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("POST", "/api/assets/import/csv")));
+        assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("POST", "/api/events/archive")));
+        assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("POST", "/api/depreciation/checkpoints")));
+        assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/assets/stream")));
+    }
+
+    @Test public void ordinaryRequestsAreLimited() {
+        assertFalse(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/assets")));
+        assertFalse(filter.shouldNotFilter(new MockHttpServletRequest("POST", "/api/assets/1/1")));
+    }
+
+    @Test public void requestsAreGroupedByMethodAndPath() {
+        assertEquals(ConcurrencyLimitFilter.group("GET", "/api/assets"), ConcurrencyLimitFilter.Group.READ);
+        assertEquals(ConcurrencyLimitFilter.group("POST", "/auth/register"), ConcurrencyLimitFilter.Group.AUTH);
+        assertEquals(ConcurrencyLimitFilter.group("DELETE", "/api/cache-stats/assets"), ConcurrencyLimitFilter.Group.WRITE);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.demo.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.testng.Assert.assertEquals;
+
+/** Two embedded H2 databases stand in for the primary and the replica; each answers with its own name. */
+public class ReadWriteRoutingDataSourceTest {
+    private ReadWriteRoutingDataSource routing;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readWrite, readOnly;
+
+    @BeforeMethod public void setUp() {
+        routing = routing(database("replica"));
+        jdbc = new JdbcTemplate(routing);
+        DataSourceTransactionManager txManager = new DataSourceTransactionManager(routing);
+        readWrite = new TransactionTemplate(txManager);
+        readOnly = new TransactionTemplate(txManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterMethod public void tearDown() throws Exception { routing.close(); }
+
+    @Test public void readOnlyTransactionsUseTheReplica() {
+        assertEquals(readOnly.execute(s -> whoAmI()), "replica");
+        assertEquals(routing.getReplicaRoutes(), 1);
+    }
+
+    @Test public void readWriteTransactionsUseThePrimary() {
+        assertEquals(readWrite.execute(s -> whoAmI()), "primary");
+        assertEquals(routing.getReplicaRoutes(), 0);
+    }
+
+    @Test public void pinnedRequestsReadFromThePrimary() {
+        ReadWriteRoutingDataSource.beginRequest(true);
+        try {
+            assertEquals(readOnly.execute(s -> whoAmI()), "primary");
+        } finally {
+            ReadWriteRoutingDataSource.endRequest();
+        }
+    }
+
+    @Test public void clientReadsItsOwnWritesUntilTheStickyWindowEnds() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(200);
+        assertEquals(request(filter, "GET", readOnly), "replica");
+        assertEquals(request(filter, "POST", readWrite), "primary");
+        assertEquals(request(filter, "GET", readOnly), "primary", "a read right after a write stays on the primary");
+        Thread.sleep(300);
+        assertEquals(request(filter, "GET", readOnly), "replica");
+    }
+
+    @Test public void writeRequestsNeverReadFromTheReplica() throws Exception {
+        assertEquals(request(new ReadYourWritesFilter(200), "POST", readOnly), "primary");
+    }
+
+    @Test public void unreachableReplicaFallsBackToThePrimary() throws Exception {
+        JdbcDataSource broken = new JdbcDataSource();
+        broken.setURL("jdbc:h2:mem:missing;IFEXISTS=TRUE");
+        routing.close();
+        routing = routing(broken);
+        TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(routing));
+        tx.setReadOnly(true);
+        jdbc = new JdbcTemplate(routing);
+        assertEquals(tx.execute(s -> whoAmI()), "primary");
+        assertEquals(routing.getFallbacks(), 1);
+        assertEquals(routing.isReplicaHealthy(), false);
+    }
+
+    private String request(ReadYourWritesFilter filter, String method, TransactionTemplate tx) throws Exception {
+        AtomicReference<String> seen = new AtomicReference<>();
+        filter.doFilter(new MockHttpServletRequest(method, "/api/assets"), new MockHttpServletResponse(), (req, res) -> seen.set(tx.execute(s -> whoAmI())));
+        return seen.get();
+    }
+
+    /** As a bean it is initialised by Spring, which reads the connection defaults before any transaction starts. */
+    private static ReadWriteRoutingDataSource routing(DataSource replica) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(database("primary"), replica, 60_000);
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    private String whoAmI() { return jdbc.queryForObject("select name from whoami", String.class); }
+
+    private static DataSource database(String name) {
+        JdbcDataSource ds = new JdbcDataSource();
+        ds.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(ds);
+        jdbc.execute("create table if not exists whoami (name varchar(20))");
+        jdbc.execute("delete from whoami");
+        jdbc.update("insert into whoami values (?)", name);
+        return ds;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.demo.config;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.expectThrows;
+
+public class StatementBudgetAdviceTest {
+    private MockHttpServletRequest request;
+    private ServletServerHttpResponse response;
+
+    @BeforeMethod public void setUp() {
+        request = new MockHttpServletRequest("GET", "/api/assets/1");
+        response = new ServletServerHttpResponse(new MockHttpServletResponse());
+        RequestStatements.begin();
+    }
+
+    @AfterMethod public void tearDown() { RequestStatements.end(); }
+
+    @Test public void failModeRejectsAResponseOverItsBudget() throws Exception {
+        issue(3);
+        IllegalStateException e = expectThrows(IllegalStateException.class, () -> write(new StatementBudgetAdvice(0, "fail"), "budgetOfTwo"));
+        assertEquals(e.getMessage(), "Statement budget exceeded: 3 statements, budget 2");
+    }
+
+    @Test public void failModeLetsAResponseWithinItsBudgetThrough() throws Exception {
+        issue(2);
+        assertEquals(write(new StatementBudgetAdvice(0, "fail"), "budgetOfTwo"), "body");
+        assertNull(response.getHeaders().getFirst(StatementBudgetAdvice.HEADER));
+    }
+
+    @Test public void failModeAppliesTheDefaultBudgetToUnannotatedHandlers() throws Exception {
+        issue(6);
+        expectThrows(IllegalStateException.class, () -> write(new StatementBudgetAdvice(5, "fail"), "unannotated"));
+    }
+
+    @Test public void warnModeFlagsTheResponseInstead() throws Exception {
+        issue(3);
+        assertEquals(write(new StatementBudgetAdvice(0, "warn"), "budgetOfTwo"), "body");
+        assertEquals(response.getHeaders().getFirst(StatementBudgetAdvice.HEADER), "exceeded; statements=3; budget=2");
+    }
+
+    @Test public void noBudgetMeansNoCheck() throws Exception {
+        issue(100);
+        assertEquals(write(new StatementBudgetAdvice(0, "fail"), "unannotated"), "body");
+    }
+
+    @StatementBudget(2) String budgetOfTwo() { return "body"; }
+    String unannotated() { return "body"; }
+
+    private Object write(StatementBudgetAdvice advice, String handler) throws Exception {
+        MethodParameter returnType = new MethodParameter(getClass().getDeclaredMethod(handler), -1);
+        return advice.beforeBodyWrite("body", returnType, MediaType.APPLICATION_JSON, MappingJackson2HttpMessageConverter.class,
+                new ServletServerHttpRequest(request), response);
+    }
+
+    private static void issue(int statements) { for (int i = 0; i < statements; i++) RequestStatements.record(1_000); }
+}
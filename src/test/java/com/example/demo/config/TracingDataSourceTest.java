@@ -0,0 +1,20 @@
+package com.example.demo.config;
+
+import org.testng.annotations.Test;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.testng.Assert.assertEquals;
+
+public class TracingDataSourceTest {
+    @Test public void parametersAreDescribedWithoutTheirValues() {
+        Map<Integer, Object> params = new TreeMap<>();
+        params.put(1, "alice@example.com");
+        params.put(2, 42L);
+        params.put(3, null);
+        params.put(4, new byte[16]);
+        params.put(5, LocalDate.of(2024, 1, 1));
+        assertEquals(TracingDataSource.format(params), "[1=String(17), 2=Long, 3=null, 4=byte[16], 5=LocalDate]");
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.demo.config;
+
+import com.example.demo.entity.Vendor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+public class WireFormatConfigTest {
+    /** Stands in for a Hibernate proxy, which exposes its interceptor through these two getters. */
+    public static class VendorProxy extends Vendor {
+        public Object getHibernateLazyInitializer() { return "interceptor"; }
+        public Object getHandler() { return "handler"; }
+    }
+
+    @Test public void proxyInterceptorPropertiesAreNotSerialized() throws Exception {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+        new WireFormatConfig().hibernateProxyMixIn().customize(builder);
+        ObjectMapper mapper = builder.build();
+        VendorProxy vendor = new VendorProxy();
+        vendor.setVendorName("Acme");
+        JsonNode json = mapper.valueToTree(vendor);
+        assertEquals(json.path("vendorName").asText(), "Acme");
+        assertFalse(json.has("hibernateLazyInitializer"));
+        assertFalse(json.has("handler"));
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.entity.Asset;
+import com.example.demo.entity.AssetDisposal;
+import com.example.demo.entity.User;
+import com.example.demo.repository.AssetDisposalRepository;
+import com.example.demo.repository.AssetRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.AssetStatsService;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.expectThrows;
+
+public class AssetDisposalServiceImplTest {
+    private AssetDisposalRepository disposalRepo;
+    private AssetStatsService stats;
+    private AssetDisposalServiceImpl service;
+    private AssetDisposal disposal;
+    private User admin;
+
+    @BeforeMethod public void setUp() {
+        disposalRepo = mock(AssetDisposalRepository.class);
+        AssetRepository assetRepo = mock(AssetRepository.class);
+        UserRepository userRepo = mock(UserRepository.class);
+        stats = mock(AssetStatsService.class);
+        service = new AssetDisposalServiceImpl(disposalRepo, assetRepo, userRepo, stats, mock(PlatformTransactionManager.class), 500);
+
+        Asset asset = new Asset();
+        asset.setId(3L);
+        asset.setStatus("ACTIVE");
+        asset.setPurchaseCost(100.0);
+        disposal = new AssetDisposal();
+        disposal.setId(1L);
+        disposal.setAsset(asset);
+        admin = new User();
+        admin.setId(2L);
+        when(disposalRepo.findById(1L)).thenReturn(Optional.of(disposal));
+        when(userRepo.findById(2L)).thenReturn(Optional.of(admin));
+        when(disposalRepo.save(any())).thenAnswer(i -> i.getArgument(0));
+    }
+
+    @Test public void approvalDisposesTheAssetAndRecordsOneEvent() {
+        AssetDisposal approved = service.approveDisposal(1L, 2L);
+        assertSame(approved.getApprovedBy(), admin);
+        assertEquals(approved.getAsset().getStatus(), "DISPOSED");
+        verify(disposalRepo).insertApprovalEvents(eq(List.of(1L)), eq(AssetDisposalServiceImpl.APPROVAL_EVENT), any(), any());
+        verify(stats).statusChanged("ACTIVE", "DISPOSED", null, 100.0);
+    }
+
+    @Test public void approvingTwiceIsRejected() {
+        disposal.setApprovedBy(admin);
+        disposal.getAsset().setStatus("DISPOSED");
+        IllegalArgumentException e = expectThrows(IllegalArgumentException.class, () -> service.approveDisposal(1L, 2L));
+        assertEquals(e.getMessage(), "Disposal is already approved");
+        verify(disposalRepo, never()).insertApprovalEvents(anyCollection(), anyString(), any(), any());
+        verify(stats, never()).statusChanged(any(), any(), any(), any());
+    }
+
+    @Test public void disposalOfAnAlreadyDisposedAssetIsRejected() {
+        disposal.getAsset().setStatus("DISPOSED");
+        IllegalArgumentException e = expectThrows(IllegalArgumentException.class, () -> service.approveDisposal(1L, 2L));
+        assertEquals(e.getMessage(), "Asset is already disposed");
+        verify(disposalRepo, never()).insertApprovalEvents(anyCollection(), anyString(), any(), any());
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.exception.ServiceBusyException;
+import com.example.demo.repository.AssetRepository;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+public class AssetSearchServiceImplTest {
+    private AssetSearchServiceImpl service;
+
+    @BeforeMethod public void setUp() {
+        AssetRepository assetRepo = mock(AssetRepository.class);
+        when(assetRepo.streamSearchRows()).thenReturn(Stream.of(
+                row(1L, "LAP-0001", "Dell Latitude Laptop", 10L, "Dell Technologies"),
+                row(2L, "LAP-0002", "Latitude Dock", 10L, "Dell Technologies"),
+                row(3L, "MON-0001", "Ultrasharp Monitor", 10L, "Dell Technologies"),
+                row(4L, "LAP-0010", "ThinkPad Laptop", 20L, "Lenovo"),
+                row(5L, "PRN-0001", "LaserJet Printer", 30L, "HP Inc"),
+                row(6L, "PRN-0002", "Label Printer", null, null)));
+        service = new AssetSearchServiceImpl(assetRepo);
+    }
+
+    @Test public void lookupsWaitForTheFirstBuild() {
+        assertFalse(service.isReady());
+        assertThrows(ServiceBusyException.class, () -> service.tagExists("LAP-0001"));
+        assertThrows(ServiceBusyException.class, () -> service.search("laptop", 10));
+        service.rebuild();
+        assertTrue(service.isReady());
+    }
+
+    @Test public void tagExistsIgnoresCase() {
+        service.rebuild();
+        assertTrue(service.tagExists("LAP-0001"));
+        assertTrue(service.tagExists("lap-0001"));
+        assertFalse(service.tagExists("LAP-0003"));
+        assertFalse(service.tagExists(null));
+    }
+
+    @Test public void tagPrefixMatchesComeFirstInTagOrder() {
+        service.rebuild();
+        assertEquals(service.search("lap-", 10), List.of(1L, 2L, 4L));
+        assertEquals(service.search("LAP-00", 2), List.of(1L, 2L), "cut off at the limit");
+        assertEquals(service.search("PRN", 10), List.of(5L, 6L));
+    }
+
+    @Test public void everyTokenMustMatchANameOrVendorToken() {
+        service.rebuild();
+        assertEquals(service.search("latitude laptop", 10), List.of(1L));
+        assertEquals(service.search("dell monitor", 10), List.of(3L), "vendor tokens count toward the intersection");
+        assertEquals(service.search("lenovo latitude", 10), List.of());
+        assertEquals(service.search("zebra", 10), List.of());
+    }
+
+    @Test public void wholeTokensOutrankPrefixesWhichOutrankVendorMatches() {
+        service.rebuild();
+        assertEquals(service.search("laptop", 10), List.of(1L, 4L), "equal scores fall back to id order");
+        assertEquals(service.search("la", 10), List.of(1L, 2L, 4L, 5L, 6L));
+        assertEquals(service.search("dell", 10), List.of(1L, 2L, 3L));
+        assertEquals(service.search("printer", 1), List.of(5L));
+    }
+
+    @Test public void aTermMatchingMoreAssetsThanTheCandidatesSoFarIsLeftToScoring() {
+        service.rebuild();
+        // "thinkpad" yields one candidate, so the three-asset "dell" set is skipped and "dell" misses at scoring
+        assertEquals(service.search("dell thinkpad", 10), List.of());
+        assertEquals(service.search("thinkpad lenovo", 10), List.of(4L));
+    }
+
+    @Test public void aSavedAssetIsReindexedUnderItsNewNameTagAndVendor() {
+        service.rebuild();
+        service.assetSaved(4L, "LAP-0099", "Latitude Laptop", 10L, "Dell Technologies");
+        assertFalse(service.tagExists("LAP-0010"));
+        assertTrue(service.tagExists("lap-0099"));
+        assertEquals(service.search("thinkpad", 10), List.of());
+        assertEquals(service.search("lenovo", 10), List.of());
+        assertEquals(service.search("latitude laptop", 10), List.of(1L, 4L));
+        assertEquals(service.search("dell", 10), List.of(1L, 2L, 3L, 4L));
+
+        service.assetSaved(7L, "TAB-0001", "Surface Tablet", 40L, "Microsoft");
+        assertEquals(service.search("microsoft", 10), List.of(7L));
+        assertEquals(service.getStats().get("assets"), 7);
+    }
+
+    @Test public void searchArgumentsAreValidated() {
+        service.rebuild();
+        assertThrows(IllegalArgumentException.class, () -> service.search(" ", 10));
+        assertThrows(IllegalArgumentException.class, () -> service.search("laptop", 0));
+        assertThrows(IllegalArgumentException.class, () -> service.search("laptop", AssetSearchServiceImpl.MAX_LIMIT + 1));
+    }
+
+    private static Object[] row(Long id, String tag, String name, Long vendorId, String vendorName) {
+        return new Object[] { id, tag, name, vendorId, vendorName };
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.repository.AssetRepository;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+public class AssetStatsServiceImplTest {
+    private AssetRepository repo;
+    private AssetStatsServiceImpl stats;
+
+    @BeforeMethod public void setUp() {
+        repo = mock(AssetRepository.class);
+        when(repo.countByStatus()).thenReturn(rows(new Object[] { "ACTIVE", 10L, 1000.0 }));
+        when(repo.countByVendor()).thenReturn(rows(new Object[] { 1L, "Acme", 10L, 1000.0 }));
+        stats = new AssetStatsServiceImpl(repo);
+    }
+
+    @Test public void reconcileReplacesDriftedCounters() {
+        stats.assetCreated("ACTIVE", 1L, "Acme", 50.0);
+        stats.reconcile();
+        assertEquals(stats.getSummary().get("count"), 10L);
+        assertEquals(stats.getSummary().get("totalCost"), 1000.0);
+    }
+
+    @Test public void bumpsDuringAReconcileSurviveTheSwap() throws Exception {
+        CountDownLatch querying = new CountDownLatch(1), bumped = new CountDownLatch(1);
+        when(repo.countByStatus()).thenAnswer(call -> {
+            querying.countDown();
+            bumped.await(5, TimeUnit.SECONDS);
+            return rows(new Object[] { "ACTIVE", 10L, 1000.0 });
+        });
+        CompletableFuture<Void> reconcile = CompletableFuture.runAsync(stats::reconcile);
+        querying.await(5, TimeUnit.SECONDS);
+        stats.assetCreated("ACTIVE", 1L, "Acme", 50.0);
+        stats.statusChanged("ACTIVE", "DISPOSED", 1L, 100.0);
+        bumped.countDown();
+        reconcile.get(5, TimeUnit.SECONDS);
+
+        Map<String, Object> summary = stats.getSummary();
+        assertEquals(summary.get("count"), 11L);
+        assertEquals(summary.get("totalCost"), 1050.0);
+        @SuppressWarnings("unchecked") Map<String, Map<String, Object>> byStatus = (Map<String, Map<String, Object>>) summary.get("byStatus");
+        assertEquals(byStatus.get("ACTIVE").get("count"), 10L);
+        assertEquals(byStatus.get("DISPOSED").get("count"), 1L);
+    }
+
+    private static List<Object[]> rows(Object[]... rows) { return new ArrayList<>(List.of(rows)); }
+}
@@ -0,0 +1,136 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.dto.LifecycleEventView;
+import com.example.demo.entity.Asset;
+import com.example.demo.entity.AssetLifecycleEvent;
+import com.example.demo.repository.AssetLifecycleEventRepository;
+import com.example.demo.repository.AssetRepository;
+import org.h2.jdbcx.JdbcDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/** Small blocks force assets to span block boundaries; a "crash" is an archived row that was never deleted. */
+public class EventArchiveTest {
+    private static final int BLOCK_RECORDS = 4;
+    private static final LocalDate OLD = LocalDate.now().minusDays(100), RECENT = LocalDate.now();
+    private final List<EventArchive> archives = new ArrayList<>();
+    private final Map<Long, EventArchive.ArchivedEvent> inserted = new TreeMap<>();
+    private JdbcTemplate jdbc;
+    private Path dir;
+
+    @BeforeMethod public void setUp() throws Exception {
+        JdbcDataSource ds = new JdbcDataSource();
+        ds.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbc = new JdbcTemplate(ds);
+        jdbc.execute("create table asset_lifecycle_events (id bigint primary key, asset_id bigint, event_type varchar(50), "
+                + "event_description varchar(255), event_date date, logged_at timestamp)");
+        dir = Files.createTempDirectory("asset-events-archive");
+        inserted.clear();
+    }
+
+    @AfterMethod public void tearDown() {
+        archives.forEach(EventArchive::close);
+        archives.clear();
+    }
+
+    @Test public void archivedEventsReadBackPerAssetAndAfterReopening() throws Exception {
+        long id = 1;
+        for (long asset : new long[] { 2, 3, 5, 8, 13 })
+            for (int i = 0; i < asset; i++) event(id++, asset, OLD.minusDays(i));
+        event(id, 3, RECENT);
+        EventArchive archive = archive();
+        assertEquals(archive.archive(), inserted.size() - 1);
+        assertEquals(rows(), 1, "only the recent event stays hot");
+        assertEquals(archive.getStats().get("archivedRecords"), (long) inserted.size() - 1);
+
+        EventArchive reopened = archive();
+        for (EventArchive source : List.of(archive, reopened))
+            for (long asset : new long[] { 1, 2, 3, 4, 5, 8, 13, 14 }) {
+                List<EventArchive.ArchivedEvent> expected = inserted.values().stream().filter(e -> e.assetId() == asset && e.eventDate().isBefore(RECENT)).toList();
+                assertEquals(sorted(source.read(asset)), expected, "asset " + asset);
+            }
+    }
+
+    @Test public void getEventsMergesHotAndArchivedRowsWithoutDuplicates() throws Exception {
+        for (long id = 1; id <= 4; id++) event(id, 1, OLD.minusDays(id));
+        EventArchive archive = archive();
+        archive.archive();
+        event(3, 1, OLD.minusDays(3));
+        event(4, 1, OLD.minusDays(4));
+        event(5, 1, RECENT);
+
+        AssetLifecycleEventServiceImpl service = service(archive);
+        assertEquals(service.getEvents(1L).stream().map(AssetLifecycleEvent::getId).toList(), List.of(5L, 1L, 2L, 3L, 4L));
+        assertEquals(service.getEventViews(1L).stream().map(LifecycleEventView::id).toList(), List.of(5L, 1L, 2L, 3L, 4L));
+
+        archive.archive();
+        assertEquals(archive.read(1).size(), 6, "rows 3 and 4 now sit in two segments");
+        assertEquals(service.getEvents(1L).stream().map(AssetLifecycleEvent::getId).toList(), List.of(5L, 1L, 2L, 3L, 4L));
+    }
+
+    private AssetLifecycleEventServiceImpl service(EventArchive archive) {
+        Asset asset = new Asset();
+        asset.setId(1L);
+        asset.setAssetTag("TAG-1");
+        AssetLifecycleEventRepository eventRepo = mock(AssetLifecycleEventRepository.class);
+        when(eventRepo.findByAssetIdOrderByEventDateDesc(1L)).thenAnswer(i -> hot().stream().map(e -> {
+            AssetLifecycleEvent event = new AssetLifecycleEvent();
+            event.setId(e.id()); event.setAsset(asset); event.setEventType(e.eventType()); event.setEventDescription(e.eventDescription());
+            event.setEventDate(e.eventDate()); event.setLoggedAt(e.loggedAt());
+            return event;
+        }).toList());
+        when(eventRepo.findViewsByAssetId(1L)).thenAnswer(i -> hot().stream()
+                .map(e -> new LifecycleEventView(e.id(), e.assetId(), "TAG-1", e.eventType(), e.eventDescription(), e.eventDate(), e.loggedAt())).toList());
+        AssetRepository assetRepo = mock(AssetRepository.class);
+        when(assetRepo.findById(1L)).thenReturn(Optional.of(asset));
+        return new AssetLifecycleEventServiceImpl(eventRepo, assetRepo, Optional.empty(), archive);
+    }
+
+    private List<EventArchive.ArchivedEvent> hot() {
+        return jdbc.queryForList("select id from asset_lifecycle_events order by event_date desc", Long.class).stream().map(inserted::get).toList();
+    }
+
+    private EventArchive archive() throws Exception {
+        EventArchive archive = new EventArchive(jdbc, true, dir.toString(), 30, 10_000, 3, BLOCK_RECORDS);
+        archive.open();
+        archives.add(archive);
+        return archive;
+    }
+
+    private void event(long id, long assetId, LocalDate date) {
+        LocalDateTime loggedAt = date.atTime(9, 30).plusNanos(id * 1000).truncatedTo(ChronoUnit.MICROS);
+        EventArchive.ArchivedEvent event = new EventArchive.ArchivedEvent(id, assetId, "AUDIT", id % 3 == 0 ? null : "event " + id + " ü", date, loggedAt);
+        jdbc.update("insert into asset_lifecycle_events values (?, ?, ?, ?, ?, ?)", id, assetId, event.eventType(), event.eventDescription(), Date.valueOf(date), Timestamp.valueOf(loggedAt));
+        inserted.put(id, event);
+    }
+
+    private int rows() { return jdbc.queryForObject("select count(*) from asset_lifecycle_events", Integer.class); }
+
+    private static List<EventArchive.ArchivedEvent> sorted(List<EventArchive.ArchivedEvent> events) {
+        List<EventArchive.ArchivedEvent> out = new ArrayList<>(events);
+        out.sort(Comparator.comparingLong(EventArchive.ArchivedEvent::id));
+        assertTrue(out.stream().map(EventArchive.ArchivedEvent::id).distinct().count() == out.size(), "one copy per id within a single segment");
+        return out;
+    }
+}
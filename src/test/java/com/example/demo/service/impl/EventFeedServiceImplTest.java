@@ -0,0 +1,97 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.dto.FeedEvent;
+import com.example.demo.repository.AssetLifecycleEventRepository;
+import com.example.demo.service.EventFeedService;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/** The repository is a stand-in for the table: {@code committed} holds the rows whose inserts have committed. */
+public class EventFeedServiceImplTest {
+    private final List<FeedEvent> committed = new CopyOnWriteArrayList<>();
+    private final List<Long> received = new CopyOnWriteArrayList<>();
+    private EventFeedServiceImpl feed;
+
+    @BeforeMethod public void setUp() {
+        committed.clear();
+        received.clear();
+        AssetLifecycleEventRepository repo = mock(AssetLifecycleEventRepository.class);
+        when(repo.findMaxId()).thenReturn(0L);
+        when(repo.findFeed(anyLong(), anyLong(), any(), any(), any(), any())).thenAnswer(call -> {
+            long after = call.getArgument(0), upTo = call.getArgument(1);
+            return committed.stream().filter(e -> e.id() > after && e.id() <= upTo).sorted((a, b) -> Long.compare(a.id(), b.id())).toList();
+        });
+        when(repo.findFeedByIds(any())).thenAnswer(call -> {
+            Collection<Long> ids = call.getArgument(0);
+            return committed.stream().filter(e -> ids.contains(e.id())).toList();
+        });
+        feed = new EventFeedServiceImpl(repo, 100, 100, 10, 20, 100, 500, 100, 60_000, 1);
+        feed.start();
+        feed.subscribe(null, null, new EventFeedService.Sink() {
+            public void send(FeedEvent event) { received.add(event.id()); }
+            public void heartbeat() {}
+            public void close(String reason) {}
+        });
+    }
+
+    @AfterMethod public void tearDown() { feed.shutdown(); }
+
+    @Test public void rowsBehindAGapWaitForTheGapTimeout() throws Exception {
+        commit(1); commit(3);
+        await(() -> received.equals(List.of(1L)));
+        Thread.sleep(50);
+        assertEquals(received, List.of(1L), "3 is held back while 2 may still commit");
+        await(() -> received.equals(List.of(1L, 3L)));
+    }
+
+    @Test public void skippedIdIsDeliveredWhenItsInsertCommitsLate() throws Exception {
+        commit(1); commit(3);
+        await(() -> received.equals(List.of(1L, 3L)));
+        commit(2);
+        commit(4);
+        await(() -> received.size() == 4);
+        assertTrue(received.containsAll(List.of(2L, 4L)));
+        Map<String, Object> stats = feed.getFeedStats();
+        assertEquals(stats.get("skippedIds"), 1L);
+        assertEquals(stats.get("lateDelivered"), 1L);
+        assertEquals(stats.get("lateIds"), 0);
+    }
+
+    @Test public void skippedIdThatNeverCommitsIsAbandonedAfterTheLateWindow() throws Exception {
+        commit(1); commit(3);
+        await(() -> received.equals(List.of(1L, 3L)));
+        assertEquals(feed.getFeedStats().get("lateIds"), 1);
+        await(() -> feed.getFeedStats().get("abandonedIds").equals(1L));
+        assertEquals(feed.getFeedStats().get("lateIds"), 0);
+        commit(2);
+        Thread.sleep(100);
+        assertEquals(received, List.of(1L, 3L));
+    }
+
+    private void commit(long id) {
+        committed.add(new FeedEvent(id, 1L, "TAG-1", null, "AUDIT", "event " + id, LocalDate.of(2024, 1, 1), LocalDateTime.of(2024, 1, 1, 0, 0)));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met within 10 s");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.exception.ServiceBusyException;
+import org.h2.jdbcx.JdbcDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+/** A "crash" is a buffer that journaled events and was abandoned before its writer flushed them. */
+public class EventWriteBehindBufferTest {
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 1);
+    private static final int SEGMENT_EVENTS = 5;
+    private final List<EventWriteBehindBuffer> buffers = new ArrayList<>();
+    private Path spillDir;
+    private JdbcTemplate jdbc;
+    private DataSourceTransactionManager txManager;
+
+    @BeforeMethod public void setUp() throws Exception {
+        spillDir = Files.createTempDirectory("asset-events");
+        JdbcDataSource ds = new JdbcDataSource();
+        ds.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbc = new JdbcTemplate(ds);
+        txManager = new DataSourceTransactionManager(ds);
+        createTable();
+    }
+
+    @AfterMethod public void tearDown() throws Exception {
+        for (EventWriteBehindBuffer buffer : buffers) buffer.shutdown();
+        buffers.clear();
+    }
+
+    @Test public void replaysJournaledEventsAfterACrash() throws Exception {
+        EventWriteBehindBuffer crashed = open();
+        for (int i = 0; i < 3; i++) crashed.enqueue(1, "AUDIT", "event " + i, DAY);
+
+        EventWriteBehindBuffer restarted = start();
+        await(() -> rows() == 3);
+        await(() -> restarted.getCommittedSequence() == 3);
+    }
+
+    @Test public void refusesNewEventsUntilReplaySucceeds() throws Exception {
+        EventWriteBehindBuffer crashed = open();
+        crashed.enqueue(1, "AUDIT", "first", DAY);
+        crashed.enqueue(1, "REPAIR", "second", DAY);
+        jdbc.execute("drop table asset_lifecycle_events");
+
+        EventWriteBehindBuffer restarted = start();
+        Thread.sleep(700);
+        assertThrows(ServiceBusyException.class, () -> restarted.enqueue(1, "AUDIT", "too early", DAY));
+        assertEquals(restarted.getCommittedSequence(), 0, "a failed replay must not move the checkpoint");
+
+        createTable();
+        await(() -> rows() == 2);
+        await(() -> { try { restarted.enqueue(1, "AUDIT", "after replay", DAY); return true; } catch (ServiceBusyException e) { return false; } });
+        await(() -> rows() == 3);
+        await(() -> restarted.getCommittedSequence() == 3);
+
+        restarted.shutdown();
+        buffers.remove(restarted);
+        EventWriteBehindBuffer again = start();
+        again.enqueue(1, "AUDIT", "next boot", DAY);
+        await(() -> rows() == 4);
+        assertEquals(jdbc.queryForObject("select count(distinct event_description) from asset_lifecycle_events", Integer.class), 4, "nothing replayed twice");
+    }
+
+    @Test public void committedSegmentsAreDeletedWithoutWaitingForIdle() throws Exception {
+        EventWriteBehindBuffer buffer = start();
+        await(() -> { try { buffer.enqueue(1, "AUDIT", "warm-up", DAY); return true; } catch (ServiceBusyException e) { return false; } });
+        for (int i = 0; i < 22; i++) buffer.enqueue(1, "AUDIT", "event " + i, DAY);
+        await(() -> rows() == 23);
+        await(() -> buffer.getCommittedSequence() == 23 && journalFiles() == 1);
+        assertEquals(buffer.getSegmentCount(), 1);
+    }
+
+    @Test public void replaysEverySegmentAfterACrash() throws Exception {
+        EventWriteBehindBuffer crashed = open();
+        for (int i = 0; i < 12; i++) crashed.enqueue(1, "AUDIT", "event " + i, DAY);
+        assertEquals(journalFiles(), 3);
+
+        EventWriteBehindBuffer restarted = start();
+        await(() -> rows() == 12);
+        await(() -> restarted.getCommittedSequence() == 12 && journalFiles() == 1);
+        assertEquals(jdbc.queryForObject("select count(distinct event_description) from asset_lifecycle_events", Integer.class), 12);
+    }
+
+    @Test public void failedFinalFlushLeavesEventsForReplay() throws Exception {
+        List<Throwable> uncaught = new ArrayList<>();
+        Thread.UncaughtExceptionHandler previous = Thread.getDefaultUncaughtExceptionHandler();
+        Thread.setDefaultUncaughtExceptionHandler((t, e) -> uncaught.add(e));
+        try {
+            EventWriteBehindBuffer buffer = start();
+            await(() -> { try { buffer.enqueue(1, "AUDIT", "stored", DAY); return true; } catch (ServiceBusyException e) { return false; } });
+            await(() -> rows() == 1);
+            jdbc.execute("drop table asset_lifecycle_events");
+            buffer.enqueue(1, "AUDIT", "pending 1", DAY);
+            buffer.enqueue(1, "AUDIT", "pending 2", DAY);
+            Thread.sleep(200);
+            buffer.shutdown();
+            buffers.remove(buffer);
+            assertEquals(uncaught, List.of(), "the writer logs the failure instead of dying with it");
+        } finally {
+            Thread.setDefaultUncaughtExceptionHandler(previous);
+        }
+
+        createTable();
+        start();
+        await(() -> rows() == 2);
+    }
+
+    private long journalFiles() {
+        try (var files = Files.list(spillDir)) { return files.filter(f -> f.getFileName().toString().endsWith(".journal")).count(); }
+        catch (IOException e) { throw new UncheckedIOException(e); }
+    }
+
+    private EventWriteBehindBuffer open() throws Exception {
+        EventWriteBehindBuffer buffer = new EventWriteBehindBuffer(jdbc, txManager, 100, 10, 50, 50, SEGMENT_EVENTS, spillDir.toString());
+        buffer.open();
+        buffers.add(buffer);
+        return buffer;
+    }
+
+    private EventWriteBehindBuffer start() throws Exception {
+        EventWriteBehindBuffer buffer = open();
+        buffer.start();
+        return buffer;
+    }
+
+    private void createTable() {
+        jdbc.execute("create table asset_lifecycle_events (id bigint auto_increment primary key, asset_id bigint, event_type varchar(50), "
+                + "event_description varchar(255), event_date date, logged_at timestamp)");
+    }
+
+    private int rows() { return jdbc.queryForObject("select count(*) from asset_lifecycle_events", Integer.class); }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not met within 10 s");
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.dto.HistoricalValuation;
+import org.h2.jdbcx.JdbcDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/** Checkpoint-plus-delta answers are compared against the full-table path of an instance with checkpoints disabled. */
+public class ValuationCheckpointsTest {
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final LocalDate MONTH_END = TODAY.withDayOfMonth(1).minusDays(1);
+    private JdbcTemplate jdbc;
+    private Path dir;
+
+    @BeforeMethod public void setUp() throws Exception {
+        JdbcDataSource ds = new JdbcDataSource();
+        ds.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbc = new JdbcTemplate(ds);
+        jdbc.execute("create table depreciation_rules (id bigint primary key, method varchar(30), useful_life_years int, salvage_value double)");
+        jdbc.execute("create table assets (id bigint primary key, vendor_id bigint, depreciation_rule_id bigint, purchase_cost double, purchase_date date, "
+                + "status varchar(20), created_at timestamp)");
+        jdbc.execute("create table asset_disposals (id bigint auto_increment primary key, asset_id bigint, disposal_date date, created_at timestamp)");
+        jdbc.execute("create table asset_lifecycle_events (id bigint auto_increment primary key, asset_id bigint, event_type varchar(50), logged_at timestamp)");
+        jdbc.update("insert into depreciation_rules values (1, 'STRAIGHT_LINE', 5, 100), (2, 'DECLINING_BALANCE', 4, 0)");
+        dir = Files.createTempDirectory("valuation-checkpoints");
+    }
+
+    @Test public void checkpointPlusDeltaMatchesTheFullTable() {
+        LocalDateTime before = LocalDateTime.now().minusDays(2);
+        asset(1, 10, 1, 1000, MONTH_END.minusDays(400), before);
+        asset(2, 10, 2, 2000, MONTH_END.minusDays(100), before);
+        dispose(2, MONTH_END.minusDays(10), before);
+        asset(3, 20, 1, 500, null, before);
+        asset(4, 20, 2, 800, MONTH_END.minusDays(30), before);
+        asset(5, 20, 1, 300, MONTH_END.plusDays(5), before);
+
+        ValuationCheckpoints checkpoints = checkpoints(true);
+        ValuationCheckpoints.Header header = checkpoints.checkpoint();
+        assertEquals(header.monthEnd(), MONTH_END);
+        assertEquals(header.assetCursor(), 5);
+
+        LocalDateTime after = LocalDateTime.now();
+        asset(6, 10, 1, 700, MONTH_END.minusDays(200), after);
+        asset(7, 20, 2, 900, MONTH_END.minusDays(50), after);
+        dispose(7, MONTH_END.minusDays(5), after);
+        dispose(4, MONTH_END.minusDays(20), after);
+
+        ValuationCheckpoints fullTable = checkpoints(false);
+        ValuationCheckpoints reopened = checkpoints(true);
+        for (LocalDate asOf : List.of(MONTH_END.minusDays(365), MONTH_END.minusDays(60), MONTH_END.minusDays(25), MONTH_END.minusDays(12),
+                MONTH_END.minusDays(7), MONTH_END, MONTH_END.plusDays(10), TODAY)) {
+            for (Long vendor : Arrays.asList(null, 10L, 20L)) {
+                HistoricalValuation expected = fullTable.valueAsOf(asOf, vendor);
+                assertNull(expected.getCheckpoint());
+                for (ValuationCheckpoints source : List.of(checkpoints, reopened)) {
+                    HistoricalValuation actual = source.valueAsOf(asOf, vendor);
+                    assertEquals(actual.getCheckpoint(), MONTH_END);
+                    String at = asOf + " vendor " + vendor;
+                    assertEquals(actual.getAssetCount(), expected.getAssetCount(), at);
+                    assertEquals(actual.getTotalCost(), expected.getTotalCost(), 1e-6, at);
+                    assertEquals(actual.getBookValue(), expected.getBookValue(), 1e-6, at);
+                }
+            }
+        }
+        HistoricalValuation latest = checkpoints.valueAsOf(TODAY, null);
+        assertTrue(latest.getReplayedRows() < fullTable.valueAsOf(TODAY, null).getReplayedRows(), "only rows past the cursors are re-read");
+    }
+
+    @Test public void secondCheckpointOfTheSameMonthReusesTheFile() {
+        asset(1, 10, 1, 1000, MONTH_END.minusDays(400), LocalDateTime.now().minusDays(2));
+        ValuationCheckpoints checkpoints = checkpoints(true);
+        ValuationCheckpoints.Header first = checkpoints.checkpoint();
+        ValuationCheckpoints.Header again = checkpoints.checkpoint();
+        assertNotNull(again);
+        assertEquals(again.takenAtMillis(), first.takenAtMillis());
+        assertEquals(checkpoints.list().size(), 1);
+        assertEquals(checkpoints.list().get(0).get("assets"), 1);
+    }
+
+    private ValuationCheckpoints checkpoints(boolean enabled) {
+        ValuationCheckpoints checkpoints = new ValuationCheckpoints(jdbc, enabled, dir.toString(), 36, 0);
+        try { checkpoints.open(); } catch (Exception e) { throw new IllegalStateException(e); }
+        return checkpoints;
+    }
+
+    private void asset(long id, long vendor, long rule, double cost, LocalDate purchased, LocalDateTime createdAt) {
+        jdbc.update("insert into assets values (?, ?, ?, ?, ?, 'ACTIVE', ?)", id, vendor, rule, cost, purchased == null ? null : Date.valueOf(purchased), Timestamp.valueOf(createdAt));
+    }
+
+    private void dispose(long assetId, LocalDate on, LocalDateTime at) {
+        jdbc.update("update assets set status = 'DISPOSED' where id = ?", assetId);
+        jdbc.update("insert into asset_disposals (asset_id, disposal_date, created_at) values (?, ?, ?)", assetId, Date.valueOf(on), Timestamp.valueOf(at));
+        jdbc.update("insert into asset_lifecycle_events (asset_id, event_type, logged_at) values (?, ?, ?)", assetId, AssetDisposalServiceImpl.APPROVAL_EVENT, Timestamp.valueOf(at));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.demo.util;
+
+import org.testng.annotations.Test;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class AdaptiveLimitTest {
+    private static final long FAST = 1, SLOW = TimeUnit.SECONDS.toNanos(10);
+
+    @Test public void requestsOverTheLimitAreRejected() {
+        AdaptiveLimit limit = new AdaptiveLimit(2, 1, 10, 2.0, 0.5);
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        assertEquals(limit.getInFlight(), 2);
+        assertEquals(limit.getRejected(), 1);
+    }
+
+    @Test public void busyUncongestedCompletionsRaiseTheLimitUpToTheMaximum() {
+        AdaptiveLimit limit = new AdaptiveLimit(4, 1, 5, 2.0, 0.5);
+        for (int i = 0; i < 4; i++) limit.tryAcquire();
+        assertFalse(limit.release(FAST, false));
+        assertEquals(limit.getLimit(), 5);
+        limit.release(FAST, false);
+        assertEquals(limit.getLimit(), 5, "capped at the maximum");
+    }
+
+    @Test public void idleCompletionsLeaveTheLimitAlone() {
+        AdaptiveLimit limit = new AdaptiveLimit(10, 1, 20, 2.0, 0.5);
+        limit.tryAcquire();
+        limit.release(FAST, false);
+        assertEquals(limit.getLimit(), 10, "one of ten slots in use is not a reason to grow");
+    }
+
+    @Test public void overloadCutsTheLimitMultiplicatively() {
+        AdaptiveLimit limit = new AdaptiveLimit(10, 1, 20, 2.0, 0.5);
+        limit.tryAcquire();
+        assertTrue(limit.release(FAST, true));
+        assertEquals(limit.getLimit(), 5);
+    }
+
+    @Test public void latencyAboveTheLongAverageTimesToleranceCountsAsCongestion() throws InterruptedException {
+        AdaptiveLimit limit = new AdaptiveLimit(10, 1, 20, 2.0, 0.5);
+        limit.tryAcquire();
+        limit.release(1_000, false);
+        Thread.sleep(5);
+        limit.tryAcquire();
+        assertTrue(limit.release(1_000_000, false), "the short average jumps far above the long one");
+        assertEquals(limit.getLimit(), 5);
+    }
+
+    @Test public void theLimitNeverDropsBelowTheMinimum() throws InterruptedException {
+        AdaptiveLimit limit = new AdaptiveLimit(10, 3, 20, 2.0, 0.5);
+        for (int i = 0; i < 10; i++) {
+            limit.tryAcquire();
+            limit.release(FAST, true);
+            Thread.sleep(1);
+        }
+        assertEquals(limit.getLimit(), 3);
+        limit.backOff();
+        assertEquals(limit.getLimit(), 3);
+    }
+
+    @Test public void aBurstOfSlowCompletionsCutsOncePerWindow() {
+        AdaptiveLimit limit = new AdaptiveLimit(16, 1, 20, 2.0, 0.5);
+        limit.tryAcquire();
+        assertTrue(limit.release(FAST, true));
+        assertEquals(limit.getLimit(), 8);
+        for (int i = 0; i < 5; i++) {
+            limit.tryAcquire();
+            assertFalse(limit.release(SLOW, true), "still inside the window opened by the last cut");
+        }
+        assertEquals(limit.getLimit(), 8);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.demo.util;
+
+import org.testng.annotations.Test;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.example.demo.util.DepreciationCalculator.DECLINING_BALANCE;
+import static com.example.demo.util.DepreciationCalculator.STRAIGHT_LINE;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
+
+public class DepreciationCalculatorTest {
+    private static final double CENT = 0.005;
+
+    @Test public void straightLineAccruesPerWholeMonthDownToSalvage() {
+        assertEquals(DepreciationCalculator.bookValue(12_000, STRAIGHT_LINE, 5, 2_000, 0), 12_000, CENT);
+        assertEquals(DepreciationCalculator.bookValue(12_000, STRAIGHT_LINE, 5, 2_000, 30), 7_000, CENT);
+        assertEquals(DepreciationCalculator.bookValue(12_000, STRAIGHT_LINE, 5, 2_000, 60), 2_000, CENT);
+        assertEquals(DepreciationCalculator.bookValue(12_000, STRAIGHT_LINE, 5, 2_000, 600), 2_000, CENT);
+    }
+
+    @Test public void decliningBalanceSwitchesToStraightLineWhenThatChargesMore() {
+        List<double[]> schedule = DepreciationCalculator.yearlySchedule(10_000, DECLINING_BALANCE, 5, 0);
+        double[] expectedCharges = { 4_000, 2_400, 1_440, 1_080, 1_080 };
+        for (int year = 0; year < 5; year++) assertEquals(schedule.get(year)[1], expectedCharges[year], CENT, "year " + (year + 1));
+        assertEquals(schedule.get(4)[2], 0, CENT);
+    }
+
+    @Test public void decliningBalanceProratesThePartYear() {
+        assertEquals(DepreciationCalculator.bookValue(10_000, DECLINING_BALANCE, 5, 0, 18), 6_000 - 2_400 * 6 / 12.0, CENT);
+        assertEquals(DepreciationCalculator.bookValue(10_000, DECLINING_BALANCE, 5, 0, 42), 2_160 - 1_080 * 6 / 12.0, CENT, "after the switch");
+    }
+
+    @Test public void decliningBalanceStopsAtSalvage() {
+        List<double[]> schedule = DepreciationCalculator.yearlySchedule(10_000, DECLINING_BALANCE, 5, 3_000);
+        assertEquals(schedule.get(0)[2], 6_000, CENT);
+        assertEquals(schedule.get(1)[2], 3_600, CENT);
+        assertEquals(schedule.get(2)[2], 3_000, CENT);
+        assertEquals(schedule.get(4)[1], 0, CENT);
+        assertEquals(DepreciationCalculator.bookValue(10_000, DECLINING_BALANCE, 1, 0, 6), 5_000, CENT, "a 200% rate is capped at cost less salvage, spread over the year");
+    }
+
+    @Test public void scheduleChargesAddUpToCostLessSalvage() {
+        for (byte method : new byte[] { STRAIGHT_LINE, DECLINING_BALANCE }) {
+            double total = 0;
+            for (double[] period : DepreciationCalculator.yearlySchedule(25_000, method, 7, 1_500)) total += period[1];
+            assertEquals(total, 23_500, CENT);
+        }
+    }
+
+    @Test public void elapsedMonthsCountsWholeMonthsOnly() {
+        long purchased = LocalDate.of(2024, 1, 31).toEpochDay();
+        assertEquals(DepreciationCalculator.elapsedMonths(purchased, LocalDate.of(2024, 2, 29).toEpochDay()), 0);
+        assertEquals(DepreciationCalculator.elapsedMonths(purchased, LocalDate.of(2024, 3, 31).toEpochDay()), 2);
+        assertEquals(DepreciationCalculator.elapsedMonths(purchased, LocalDate.of(2023, 12, 1).toEpochDay()), 0);
+    }
+
+    @Test public void batchMatchesTheScalarPathAndKeepsAssetsWithoutARuleAtCost() {
+        int n = DepreciationCalculator.BATCH_THRESHOLD * 3 + 7;
+        double[] cost = new double[n]; long[] purchased = new long[n]; int[] rule = new int[n];
+        long asOf = LocalDate.of(2025, 6, 30).toEpochDay();
+        for (int i = 0; i < n; i++) {
+            cost[i] = 1_000 + i;
+            purchased[i] = asOf - 30L * (i % 120);
+            rule[i] = i % 3 - 1;
+        }
+        byte[] method = { STRAIGHT_LINE, DECLINING_BALANCE }; int[] life = { 4, 6 }; double[] salvage = { 100, 0 };
+        double[] out = new double[n];
+        DepreciationCalculator.bookValues(cost, purchased, rule, n, method, life, salvage, asOf, out);
+        for (int i = 0; i < n; i++) {
+            int r = rule[i];
+            double expected = r < 0 ? cost[i] : DepreciationCalculator.bookValue(cost[i], method[r], life[r], salvage[r], DepreciationCalculator.elapsedMonths(purchased[i], asOf));
+            assertEquals(out[i], expected, 1e-9, "row " + i);
+        }
+    }
+
+    @Test public void unknownMethodIsRejected() {
+        assertEquals(DepreciationCalculator.methodCode("DECLINING_BALANCE"), DECLINING_BALANCE);
+        assertThrows(IllegalArgumentException.class, () -> DepreciationCalculator.methodCode("SUM_OF_YEARS"));
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.demo.util;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertThrows;
+
+public class JwtUtilTest {
+    private JwtUtil jwt;
+
+    @BeforeMethod public void setUp() { jwt = new JwtUtil(); }
+
+    @Test public void verifiedTokenCarriesSubjectUserIdAndRoles() {
+        JwtUtil.VerifiedToken token = jwt.verify(jwt.generateToken("a@example.com", 7L, Set.of("ADMIN")));
+        assertEquals(token.subject(), "a@example.com");
+        assertEquals(token.userId(), 7L);
+        assertEquals(token.authorities().stream().map(GrantedAuthority::getAuthority).toList(), List.of("ROLE_ADMIN"));
+        assertThrows(UnsupportedOperationException.class, () -> token.authorities().clear());
+    }
+
+    @Test public void repeatTokenIsServedFromTheCache() {
+        String token = jwt.generateToken("a@example.com", 7L, Set.of("USER"));
+        JwtUtil.VerifiedToken first = jwt.verify(token);
+        assertSame(jwt.verify(token), first);
+        assertEquals(jwt.getCacheMisses(), 1);
+        assertEquals(jwt.getCacheHits(), 1);
+    }
+
+    @Test public void tamperedTokenIsRejected() {
+        String token = jwt.generateToken("a@example.com", 7L, Set.of("USER"));
+        assertNull(jwt.verify(token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA")));
+        assertEquals(jwt.getInvalidCount(), 1);
+    }
+
+    @Test public void cacheOverTheCapDropsTheOldestTokensInOneSweep() {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i <= JwtUtil.MAX_CACHED_TOKENS; i++) tokens.add(jwt.generateToken("user" + i + "@example.com", (long) i, Set.of("USER")));
+        for (int i = 0; i < JwtUtil.MAX_CACHED_TOKENS; i++) jwt.verify(tokens.get(i));
+        assertEquals(jwt.getCacheSize(), JwtUtil.MAX_CACHED_TOKENS);
+        jwt.verify(tokens.get(JwtUtil.MAX_CACHED_TOKENS));
+        assertEquals(jwt.getCacheSize(), JwtUtil.EVICT_TO);
+        long misses = jwt.getCacheMisses();
+        jwt.verify(tokens.get(JwtUtil.MAX_CACHED_TOKENS));
+        assertEquals(jwt.getCacheMisses(), misses, "the newest token stays cached");
+        jwt.verify(tokens.get(0));
+        assertEquals(jwt.getCacheMisses(), misses + 1, "the oldest token was evicted");
+    }
+
+    @Test public void concurrentVerificationsShareOneCachedToken() throws Exception {
+        String token = jwt.generateToken("a@example.com", 7L, Set.of("USER"));
+        JwtUtil.VerifiedToken first = jwt.verify(token);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<JwtUtil.VerifiedToken>> results = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) results.add(pool.submit(() -> jwt.verify(token)));
+            for (Future<JwtUtil.VerifiedToken> result : results) assertSame(result.get(), first);
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(jwt.getCacheHits(), 1000);
+    }
+}